@@ -0,0 +1,46 @@
+package com.jojos.challenge.sudoku;
+
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+
+/**
+ * The fixed corpus of boards and moves every benchmark runs over, so that numbers stay comparable between runs.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public enum BenchmarkCorpus {
+    // a valid move on an empty board
+    EMPTY(new short[9][9], 5, 4, 4),
+    // the move that finishes an almost finished board
+    NEARLY_SOLVED(TestSudokuHelper.ALMOST_FINISHED_SUDOKU, 7, 8, 8),
+    // any move on a board with duplicates
+    INVALID(TestSudokuHelper.INVALID_SUDOKU, 3, 1, 1),
+    // any move on a finished board
+    FINISHED(TestSudokuHelper.FINISHED_SUDOKU, 5, 1, 3);
+
+    private final short[][] board;
+    private final short number;
+    private final Point point;
+
+    BenchmarkCorpus(short[][] board, int number, int row, int column) {
+        this.board = SudokuUtils.copyOf(board);
+        this.number = (short) number;
+        this.point = new Point((short) row, (short) column);
+    }
+
+    /**
+     * @return a copy of the board, since validating a move writes it into the board
+     */
+    public short[][] board() {
+        return SudokuUtils.copyOf(board);
+    }
+
+    /**
+     * @return a new move on a copy of the board
+     */
+    public SudokuMove move() {
+        return new SudokuMove(board(), number, point);
+    }
+}
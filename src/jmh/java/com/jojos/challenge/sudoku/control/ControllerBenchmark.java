@@ -0,0 +1,71 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.jojos.challenge.sudoku.Application;
+import com.jojos.challenge.sudoku.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.jojos.challenge.sudoku.utils.TestSudokuHelper.asJsonString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * End to end benchmark of PUT /sudoku/validate through the whole Spring MVC stack, without the network,
+ * over the {@link BenchmarkCorpus}. The application context is started once per fork without a web server.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ControllerBenchmark {
+
+    @Param
+    private BenchmarkCorpus corpus;
+
+    @Param({"default", "bitmask"})
+    private String engine;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(true)
+                .properties("sudoku.validator.engine=" + engine, "server.port=-1")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        content = asJsonString(corpus.move());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult validate() throws Exception {
+        return mockMvc.perform(put("/sudoku/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andReturn();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jojos.challenge.sudoku.BenchmarkCorpus;
+import com.jojos.challenge.sudoku.service.BitmaskValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks of the json round trips of our request and response objects over the {@link BenchmarkCorpus}.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonBenchmark {
+
+    @Param
+    private BenchmarkCorpus corpus;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader moveReader = objectMapper.readerFor(SudokuMove.class);
+    private final ObjectReader resultReader = objectMapper.readerFor(ValidationResult.class);
+    private final ObjectWriter writer = objectMapper.writer();
+
+    private SudokuMove sudokuMove;
+    private ValidationResult validationResult;
+    private byte[] sudokuMoveJson;
+    private byte[] validationResultJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        sudokuMove = corpus.move();
+        validationResult = new BitmaskValidator().validateSudokuMove(corpus.move());
+        sudokuMoveJson = writer.writeValueAsBytes(sudokuMove);
+        validationResultJson = writer.writeValueAsBytes(validationResult);
+    }
+
+    @Benchmark
+    public SudokuMove readSudokuMove() throws IOException {
+        return moveReader.readValue(sudokuMoveJson);
+    }
+
+    @Benchmark
+    public byte[] writeSudokuMove() throws IOException {
+        return writer.writeValueAsBytes(sudokuMove);
+    }
+
+    @Benchmark
+    public ValidationResult readValidationResult() throws IOException {
+        return resultReader.readValue(validationResultJson);
+    }
+
+    @Benchmark
+    public byte[] writeValidationResult() throws IOException {
+        return writer.writeValueAsBytes(validationResult);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the {@link BitSlicedKernel} against resolving the same {@link BitSlicedKernel#LANES} boards
+ * one by one with either engine. The boards cycle through the {@link BenchmarkCorpus} and are only read,
+ * so they are not copied. Scores are per board.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BitSlicedKernelBenchmark {
+
+    private final short[][][] boards = new short[BitSlicedKernel.LANES][][];
+
+    private final BitmaskValidator bitmaskValidator = new BitmaskValidator();
+
+    public BitSlicedKernelBenchmark() {
+        BenchmarkCorpus[] corpus = BenchmarkCorpus.values();
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = corpus[i % corpus.length].board();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BitSlicedKernel.LANES)
+    public BitSlicedKernel.Verdicts bitSlicedValidate() {
+        return BitSlicedKernel.validate(boards, 0, boards.length);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BitSlicedKernel.LANES)
+    public void bitmaskValidateBoard(Blackhole blackhole) {
+        for (short[][] board : boards) {
+            blackhole.consume(bitmaskValidator.validateBoard(board));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BitSlicedKernel.LANES)
+    public void defaultResolveAndValidateSecondaryArrays(Blackhole blackhole) {
+        for (short[][] board : boards) {
+            blackhole.consume(new DefaultValidator().resolveAndValidateSecondaryArrays(board));
+        }
+    }
+
+}
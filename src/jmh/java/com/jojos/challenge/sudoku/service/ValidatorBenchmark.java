@@ -0,0 +1,59 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.BenchmarkCorpus;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the validation engines over the {@link BenchmarkCorpus}.
+ * Every invocation works on a fresh copy of the board because a valid move is written into it,
+ * the {@link #copyBoard()} baseline shows what that copy costs.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidatorBenchmark {
+
+    @Param
+    private BenchmarkCorpus corpus;
+
+    private final BitmaskValidator bitmaskValidator = new BitmaskValidator();
+
+    @Benchmark
+    public short[][] copyBoard() {
+        return corpus.board();
+    }
+
+    @Benchmark
+    public ValidationResult defaultValidateSudokuMove() {
+        // a new instance per move, the same as the request scope gives us
+        return new DefaultValidator().validateSudokuMove(corpus.move());
+    }
+
+    @Benchmark
+    public ValidationResult defaultResolveAndValidateSecondaryArrays() {
+        return new DefaultValidator().resolveAndValidateSecondaryArrays(corpus.board());
+    }
+
+    @Benchmark
+    public ValidationResult bitmaskValidateSudokuMove() {
+        return bitmaskValidator.validateSudokuMove(corpus.move());
+    }
+
+    @Benchmark
+    public ValidationResult threadSafeDefaultValidateSudokuMove() {
+        SudokuMove sudokuMove = corpus.move();
+        return new DefaultValidator().threadSafe().validateSudokuMove(sudokuMove);
+    }
+
+}
@@ -0,0 +1,259 @@
+package com.jojos.challenge.sudoku.loadtest;
+
+import com.jojos.challenge.sudoku.Application;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load test of GET /sudoku/table and PUT /sudoku/validate with the {@link RequestMix}, to find the saturation
+ * point of a single node. Runs a step for every target rate, each with a warmup that is not measured, and reports the
+ * achieved throughput with the p50, p99 and p99.9 latencies of every step, overall and by kind of request.
+ * <p>
+ * With a target rate the load is open loop: every worker sends its requests on a fixed schedule whatever the latency
+ * of the previous ones, and latency is measured from when a request was due rather than from when it was sent,
+ * so a server falling behind shows up in the percentiles instead of silently lowering the load. A rate of 0 runs
+ * closed loop, every worker sending its next request as soon as the previous one completes.
+ * <p>
+ * Arguments are key=value pairs, all optional:
+ * url (default: start the application on a random local port), concurrency (8), rates (comma separated requests per
+ * second, 0 for closed loop, default 0), duration and warmup (seconds, 30 and 5), mix (see {@link RequestMix#DEFAULT})
+ * and seed (42). Arguments starting with -- are passed to the application it starts, e.g. --sudoku.validator.engine=bitmask.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class LoadTest {
+
+    // requests running over this are reported as errors
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private final String url;
+    private final RequestMix mix;
+    private final int concurrency;
+    private final long seed;
+
+    private LoadTest(String url, RequestMix mix, int concurrency, long seed) {
+        this.url = url;
+        this.mix = mix;
+        this.concurrency = concurrency;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            } else if (arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException(String.format("Invalid argument %s, expected key=value", arg));
+            }
+        }
+
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        String[] rates = options.getOrDefault("rates", "0").split(",");
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "30")));
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "5")));
+        RequestMix mix = new RequestMix(options.getOrDefault("mix", RequestMix.DEFAULT));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        ConfigurableApplicationContext context = null;
+        String url = options.get("url");
+        if (url == null) {
+            applicationArgs.add("--server.port=0");
+            applicationArgs.add("--sudoku.journal.dir=target/journal");
+            context = new SpringApplicationBuilder(Application.class).run(applicationArgs.toArray(new String[0]));
+            url = "http://localhost:" + ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+        }
+
+        try {
+            LoadTest loadTest = new LoadTest(url, mix, concurrency, seed);
+            System.out.printf("Load test of %s with %d workers and a mix of %s%n", url, concurrency, mix);
+            System.out.printf("%-12s %10s %10s %10s %10s %10s %8s%n",
+                    "rate/s", "achieved/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            for (String rate : rates) {
+                double target = Double.parseDouble(rate);
+                loadTest.run(target, warmup);
+                loadTest.run(target, duration).report(target);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Step run(double rate, long durationNanos) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+            long end = start + durationNanos;
+            List<Future<Worker>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(new Worker(i, rate, start, end)));
+            }
+            List<Worker> done = new ArrayList<>();
+            for (Future<Worker> worker : workers) {
+                done.add(worker.get());
+            }
+            // requests due late in the step may complete after its end, a slower achieved rate than the target
+            Step step = new Step(Math.max(durationNanos, System.nanoTime() - start));
+            done.forEach(step::add);
+            return step;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * One of the concurrent senders of a step, keeping its own histograms so that recording never contends
+     */
+    private final class Worker implements Callable<Worker> {
+
+        private final Random random;
+        private final long start;
+        private final long end;
+        // how often this worker sends a request for its share of the rate, or 0 to send back to back
+        private final long interval;
+        private final Histogram[] latencies = new Histogram[RequestMix.Kind.values().length];
+        private int errors;
+
+        private Worker(int index, double rate, long start, long end) {
+            this.random = new Random(seed + index);
+            this.interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(concurrency) / rate) : 0;
+            // spread the workers over the interval so that they don't send in bursts
+            this.start = start + interval * index / concurrency;
+            this.end = end;
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new Histogram(3);
+            }
+        }
+
+        @Override
+        public Worker call() {
+            long due = start;
+            while (!Thread.currentThread().isInterrupted()) {
+                if (interval == 0) {
+                    due = System.nanoTime();
+                }
+                if (due >= end) {
+                    break;
+                }
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                RequestMix.Kind kind = mix.next(random);
+                if (!send(kind)) {
+                    errors++;
+                }
+                latencies[kind.ordinal()].recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+                due += interval;
+            }
+            return this;
+        }
+
+        /**
+         * @return true if the request was answered with 200
+         */
+        private boolean send(RequestMix.Kind kind) {
+            try {
+                boolean table = kind == RequestMix.Kind.TABLE;
+                String path = table ? "/sudoku/table" : "/sudoku/validate";
+                HttpURLConnection connection = (HttpURLConnection) new URL(url + path).openConnection();
+                connection.setConnectTimeout(TIMEOUT_MILLIS);
+                connection.setReadTimeout(TIMEOUT_MILLIS);
+                if (!table) {
+                    connection.setRequestMethod("PUT");
+                    connection.setRequestProperty("Content-Type", "application/json");
+                    connection.setDoOutput(true);
+                    try (OutputStream out = connection.getOutputStream()) {
+                        out.write(kind.getBody().getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                int status = connection.getResponseCode();
+                // read the whole response so that the connection can be kept alive
+                try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                    if (in != null) {
+                        byte[] buffer = new byte[4096];
+                        while (in.read(buffer) != -1) {
+                            // drain
+                        }
+                    }
+                }
+                return status == 200;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The merged results of the workers of a step
+     */
+    private static final class Step {
+
+        private final long elapsedNanos;
+        private final Histogram total = new Histogram(3);
+        private final Histogram[] latencies = new Histogram[RequestMix.Kind.values().length];
+        private int errors;
+
+        private Step(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new Histogram(3);
+            }
+        }
+
+        private void add(Worker worker) {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i].add(worker.latencies[i]);
+                total.add(worker.latencies[i]);
+            }
+            errors += worker.errors;
+        }
+
+        private void report(double rate) {
+            double achieved = total.getTotalCount() * 1e9 / elapsedNanos;
+            // an open loop step that could not keep up with its rate is past the saturation point
+            String saturated = rate > 0 && achieved < 0.95 * rate ? " saturated" : "";
+            print(rate > 0 ? String.format("%.0f", rate) : "closed", total, String.format("%8d%s", errors, saturated));
+            for (RequestMix.Kind kind : RequestMix.Kind.values()) {
+                if (latencies[kind.ordinal()].getTotalCount() > 0) {
+                    print("  " + kind.getLabel(), latencies[kind.ordinal()], "");
+                }
+            }
+        }
+
+        private void print(String label, Histogram histogram, String suffix) {
+            System.out.printf("%-12s %10.0f %10.2f %10.2f %10.2f %10.2f %s%n", label,
+                    histogram.getTotalCount() * 1e9 / elapsedNanos,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    suffix);
+        }
+    }
+
+}
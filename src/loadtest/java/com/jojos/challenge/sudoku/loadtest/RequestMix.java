@@ -0,0 +1,112 @@
+package com.jojos.challenge.sudoku.loadtest;
+
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.jojos.challenge.sudoku.utils.TestSudokuHelper.asJsonString;
+
+/**
+ * The kinds of requests the load test sends and how often it sends every one of them.
+ * Moves are taken from the fixtures of {@link TestSudokuHelper}, so every kind exercises a different path of the
+ * validator, and their bodies are serialized once up front so the load generator itself stays cheap.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+class RequestMix {
+
+    /**
+     * The default mix, mostly valid moves with a fair share of mistakes, given as kind:weight pairs
+     */
+    static final String DEFAULT = "table:20,valid:40,conflict:20,occupied:10,finish:10";
+
+    enum Kind {
+        // GET /sudoku/table
+        TABLE("table", null),
+        // a move that fits its row, column and square
+        VALID("valid", move(TestSudokuHelper.VALID_INITIAL_SUDOKU, 2, 1, 3)),
+        // a move whose number is already in its square
+        CONFLICT("conflict", move(TestSudokuHelper.VALID_INITIAL_SUDOKU, 7, 1, 1)),
+        // a move on a cell that already has a number
+        OCCUPIED("occupied", move(TestSudokuHelper.VALID_INITIAL_SUDOKU, 3, 0, 0)),
+        // the move that finishes the board
+        FINISH("finish", move(TestSudokuHelper.ALMOST_FINISHED_SUDOKU, 7, 8, 8));
+
+        private final String label;
+        private final String body;
+
+        Kind(String label, String body) {
+            this.label = label;
+            this.body = body;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return the json body of the request or null if it has none
+         */
+        String getBody() {
+            return body;
+        }
+
+        private static String move(short[][] board, int number, int row, int column) {
+            return asJsonString(new SudokuMove(board, (short) number, new Point((short) row, (short) column)));
+        }
+    }
+
+    // the kind of every slot of a wheel as large as the sum of the weights
+    private final Kind[] wheel;
+    private final Map<Kind, Integer> weights;
+
+    /**
+     * @param mix comma separated kind:weight pairs, e.g. {@link #DEFAULT}, kinds left out are not sent
+     */
+    RequestMix(String mix) {
+        weights = new EnumMap<>(Kind.class);
+        int total = 0;
+        for (String pair : mix.split(",")) {
+            String[] fields = pair.trim().split(":");
+            Kind kind = null;
+            for (Kind candidate : Kind.values()) {
+                if (candidate.label.equals(fields[0])) {
+                    kind = candidate;
+                }
+            }
+            if (kind == null || fields.length != 2) {
+                throw new IllegalArgumentException(String.format("Invalid request mix entry %s", pair));
+            }
+            int weight = Integer.parseInt(fields[1]);
+            weights.put(kind, weight);
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException(String.format("Request mix %s has no weight", mix));
+        }
+        wheel = new Kind[total];
+        int slot = 0;
+        for (Map.Entry<Kind, Integer> weight : weights.entrySet()) {
+            for (int i = 0; i < weight.getValue(); i++) {
+                wheel[slot++] = weight.getKey();
+            }
+        }
+    }
+
+    Kind next(Random random) {
+        return wheel[random.nextInt(wheel.length)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<Kind, Integer> weight : weights.entrySet()) {
+            out.append(out.length() == 0 ? "" : ",").append(weight.getKey().label).append(':').append(weight.getValue());
+        }
+        return out.toString();
+    }
+}
@@ -1,18 +1,51 @@
 package com.jojos.challenge.sudoku;
 
+import com.jojos.challenge.sudoku.bulk.BulkRunner;
+import com.jojos.challenge.sudoku.lite.LiteServer;
+import com.jojos.challenge.sudoku.utils.Footprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 /**
- * Entry point of our spring boot application
+ * Entry point of our spring boot application, or of the modes that run without spring at all when the first argument
+ * names them: the bulk mode over puzzle files ({@value BulkRunner#COMMAND}) and the lightweight server of the table
+ * and validation endpoints ({@value LiteServer#COMMAND})
  *
  * Created by karanikasg@gmail.com.
  */
 @SpringBootApplication
-public class Application {
+@EnableScheduling
+public class Application implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(Application.class);
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && BulkRunner.COMMAND.equals(args[0])) {
+            // offline mode over puzzle files, see BulkRunner
+            BulkRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && LiteServer.COMMAND.equals(args[0])) {
+            // the table and validation endpoints alone, see LiteServer
+            LiteServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SpringApplication.run(Application.class, args);
     }
 
-}
\ No newline at end of file
+    /**
+     * Log what it took to get ready, to compare with the {@link LiteServer}
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Ready to serve, {}", Footprint.describe());
+    }
+
+}
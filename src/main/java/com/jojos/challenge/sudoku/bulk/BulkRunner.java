@@ -0,0 +1,329 @@
+package com.jojos.challenge.sudoku.bulk;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.service.BitSlicedKernel;
+import com.jojos.challenge.sudoku.service.BitmaskValidator;
+import com.jojos.challenge.sudoku.service.DefaultSolver;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * Solves or validates whole files of 9x9 puzzles offline, without the web server or the rest of the application:
+ * <pre>
+ * java -jar target/sudoku-rest-1.0-SNAPSHOT.jar bulk solve|validate &lt;input&gt; &lt;output&gt; [threads]
+ * </pre>
+ * The input has a puzzle per line in the 81 character text form, see {@link BoardCodec}. It is memory-mapped in chunks
+ * of whole lines, every chunk is processed on a fork-join pool and the results are written in the order of the input,
+ * one line per input line: the solution, NO_SOLUTION, VALID, FINISHED or INVALID followed by the invalidity warnings,
+ * or ERROR followed by the reason the line is not a puzzle. Empty lines are kept empty. Puzzles are validated
+ * {@link BitSlicedKernel#LANES} at a time by the {@link BitSlicedKernel}.
+ * Only as many chunks as twice the threads are in flight, so files of any size run in bounded memory.
+ * A summary of the outcomes is printed and written next to the output, with a .summary suffix.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class BulkRunner {
+
+    /**
+     * The first argument of the application that runs it in this mode
+     */
+    public static final String COMMAND = "bulk";
+
+    static final int CHUNK_SIZE = 4 << 20;
+
+    // enough to find the end of a line past the nominal end of a chunk in a few reads
+    private static final int SCAN_SIZE = 256;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Usage: bulk solve|validate <input> <output> [threads]");
+            System.exit(1);
+        }
+        Mode mode = Mode.valueOf(args[0].toUpperCase(Locale.ROOT));
+        Path input = Paths.get(args[1]);
+        Path output = Paths.get(args[2]);
+        int threads = args.length == 4 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        Summary summary = run(mode, input, output, threads, CHUNK_SIZE);
+        String text = summary.describe(mode, input, output, threads);
+        Files.write(Paths.get(output + ".summary"), text.getBytes(StandardCharsets.US_ASCII));
+        System.out.print(text);
+    }
+
+    /**
+     * @param mode what to do with every puzzle
+     * @param input the file of the puzzles, one per line
+     * @param output the file of the results, one per line in the same order, overwritten if it exists
+     * @param threads the parallelism of the pool processing the chunks
+     * @param chunkSize the size of every chunk in bytes, rounded up to the end of its last line
+     * @return the outcomes of the puzzles
+     */
+    static Summary run(Mode mode, Path input, Path output, int threads, int chunkSize) throws IOException {
+        long start = System.nanoTime();
+        Summary summary = new Summary();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            Deque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>();
+            for (long offset = 0; offset < size; ) {
+                long end = lineEnd(in, Math.min(size, offset + chunkSize), size);
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, offset, end - offset);
+                pending.add(pool.submit(() -> Chunk.process(mode, buffer)));
+                if (pending.size() >= 2 * threads) {
+                    write(pending.poll().join(), out, summary);
+                }
+                offset = end;
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll().join(), out, summary);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        summary.nanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    /**
+     * @return the position right after the first line break at or after the given position, or the size of the file
+     */
+    private static long lineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+        // a chunk ending right after a line break is already aligned
+        for (long at = Math.max(0, position - 1); at < size; at += scan.limit()) {
+            scan.clear();
+            channel.read(scan, at);
+            scan.flip();
+            for (int i = 0; i < scan.limit(); i++) {
+                if (scan.get(i) == '\n') {
+                    return at + i + 1;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static void write(Chunk chunk, FileChannel out, Summary summary) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(chunk.output);
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        summary.add(chunk.counts);
+    }
+
+    enum Mode {
+        SOLVE {
+            private final DefaultSolver solver = new DefaultSolver();
+
+            @Override
+            void process(short[][][] puzzles, int count, String[] results, Outcome[] outcomes) {
+                for (int i = 0; i < count; i++) {
+                    try {
+                        SolutionResult solutionResult = solver.solve(new Board(puzzles[i]));
+                        if (solutionResult.getSolutionStatus() == SolutionResult.SolutionStatus.NO_SOLUTION) {
+                            outcomes[i] = Outcome.NO_SOLUTION;
+                            results[i] = Outcome.NO_SOLUTION.name();
+                        } else {
+                            outcomes[i] = Outcome.SOLVED;
+                            results[i] = BoardCodec.toText(solutionResult.getBoard());
+                        }
+                    } catch (ApplicationException e) {
+                        error(e, i, results, outcomes);
+                    }
+                }
+            }
+        },
+        VALIDATE {
+            private final BitmaskValidator validator = new BitmaskValidator();
+
+            /**
+             * The verdicts come from the {@link BitSlicedKernel}, only the invalid and irregular puzzles are
+             * validated once more on their own for their warnings or errors
+             */
+            @Override
+            void process(short[][][] puzzles, int count, String[] results, Outcome[] outcomes) {
+                BitSlicedKernel.Verdicts verdicts = BitSlicedKernel.validate(puzzles, 0, count);
+                for (int i = 0; i < count; i++) {
+                    ValidationStatus status = verdicts.statusOf(i);
+                    if (status == ValidationStatus.VALID || status == ValidationStatus.FINISHED) {
+                        outcomes[i] = Outcome.valueOf(status.name());
+                        results[i] = status.name();
+                        continue;
+                    }
+                    try {
+                        ValidationResult validationResult = validator.validateBoard(puzzles[i]);
+                        outcomes[i] = Outcome.valueOf(validationResult.getValidationStatus().name());
+                        results[i] = validationResult.getInvalidityWarnings().isEmpty() ? outcomes[i].name()
+                                : outcomes[i] + " " + String.join("; ", validationResult.getInvalidityWarnings());
+                    } catch (ApplicationException e) {
+                        error(e, i, results, outcomes);
+                    }
+                }
+            }
+        };
+
+        /**
+         * Process up to {@link BitSlicedKernel#LANES} puzzles at once, the solver and the validator are stateless
+         * so any thread can call this
+         * @param puzzles the puzzles
+         * @param count the number of puzzles
+         * @param results where to put the result line of every puzzle, without the line break
+         * @param outcomes where to put the outcome of every puzzle
+         */
+        abstract void process(short[][][] puzzles, int count, String[] results, Outcome[] outcomes);
+
+        private static void error(ApplicationException e, int i, String[] results, Outcome[] outcomes) {
+            outcomes[i] = Outcome.ERROR;
+            results[i] = Outcome.ERROR + " " + e.getMessage();
+        }
+    }
+
+    enum Outcome {
+        SOLVED, NO_SOLUTION, VALID, FINISHED, INVALID, ERROR
+    }
+
+    /**
+     * The results of a chunk of whole lines. Puzzles are processed {@link BitSlicedKernel#LANES} at a time,
+     * the lines read in the mean time wait for them to keep the order.
+     */
+    private static final class Chunk {
+
+        private final Mode mode;
+        private final long[] counts = new long[Outcome.values().length];
+        private final StringBuilder out;
+
+        private final short[][][] puzzles = new short[BitSlicedKernel.LANES][][];
+        private final String[] results = new String[BitSlicedKernel.LANES];
+        private final Outcome[] outcomes = new Outcome[BitSlicedKernel.LANES];
+        private int count;
+        // the lines since the first waiting puzzle, null for the lines of the puzzles
+        private final List<String> lines = new ArrayList<>();
+
+        private byte[] output;
+
+        private Chunk(Mode mode, int size) {
+            this.mode = mode;
+            // a solution or a status per line, about as long as the line itself
+            this.out = new StringBuilder(size + size / 4);
+        }
+
+        private static Chunk process(Mode mode, MappedByteBuffer buffer) {
+            Chunk chunk = new Chunk(mode, buffer.limit());
+            char[] line = new char[BoardCodec.CELLS];
+            int length = 0;
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b != '\n') {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = (char) (b & 0xFF);
+                    if (i < buffer.limit() - 1) {
+                        continue;
+                    }
+                }
+                chunk.read(line, length);
+                length = 0;
+            }
+            chunk.flush();
+            chunk.output = chunk.out.toString().getBytes(StandardCharsets.US_ASCII);
+            return chunk;
+        }
+
+        private void read(char[] line, int length) {
+            if (length > 0 && line[length - 1] == '\r') {
+                --length;
+            }
+            if (length == 0) {
+                lines.add("");
+                return;
+            }
+            try {
+                puzzles[count++] = BoardCodec.fromText(CharBuffer.wrap(line, 0, length));
+                lines.add(null);
+            } catch (ApplicationException e) {
+                --count;
+                counts[Outcome.ERROR.ordinal()]++;
+                lines.add(Outcome.ERROR + " " + e.getMessage());
+            }
+            if (count == BitSlicedKernel.LANES) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            mode.process(puzzles, count, results, outcomes);
+            int next = 0;
+            for (String line : lines) {
+                if (line == null) {
+                    counts[outcomes[next].ordinal()]++;
+                    line = results[next++];
+                }
+                out.append(line).append('\n');
+            }
+            lines.clear();
+            count = 0;
+        }
+    }
+
+    /**
+     * The outcomes of every puzzle of the file
+     */
+    static final class Summary {
+
+        private final long[] counts = new long[Outcome.values().length];
+        private long nanos;
+
+        private void add(long[] chunkCounts) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += chunkCounts[i];
+            }
+        }
+
+        long count(Outcome outcome) {
+            return counts[outcome.ordinal()];
+        }
+
+        long total() {
+            return Arrays.stream(counts).sum();
+        }
+
+        String describe(Mode mode, Path input, Path output, int threads) {
+            double seconds = nanos / 1e9;
+            StringBuilder text = new StringBuilder(String.format("%s %d puzzles of %s into %s in %.3f s with %d threads, %.0f puzzles/s%n",
+                    mode, total(), input, output, seconds, threads, total() / seconds));
+            for (Outcome outcome : Outcome.values()) {
+                if (count(outcome) > 0) {
+                    text.append(String.format("%s %d%n", outcome, count(outcome)));
+                }
+            }
+            return text.toString();
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.jojos.challenge.sudoku.control;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts the requests of a mapping of the {@link Controller} under the admission control of the {@link AdmissionLimiter}
+ * of the given name, configured by the sudoku.admission.&lt;name&gt;.* properties. Mappings may share a limiter by name.
+ * Mappings without it are never limited.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+    /**
+     * @return the name of the limiter
+     */
+    String value();
+}
@@ -0,0 +1,100 @@
+package com.jojos.challenge.sudoku.control;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Admits the requests to the mappings marked with {@link Admission} through the {@link AdmissionLimiter} of their name
+ * before they are handled, or turns them down with an {@link AdmissionRejectedException}.
+ * Limiters are created on first use from the sudoku.admission.&lt;name&gt;.* properties, falling back to
+ * sudoku.admission.default.* for the ones not set. An asynchronous request keeps its permit until its result has been
+ * written, so the limit counts the solving and the hints that run on the {@link com.jojos.challenge.sudoku.service.ComputePool} too.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class AdmissionInterceptor extends HandlerInterceptorAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+    private static final String PREFIX = "sudoku.admission.";
+    private static final String DEFAULT = "default";
+
+    private final ConcurrentMap<String, AdmissionLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    Environment environment;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws AdmissionRejectedException {
+        // an asynchronous request comes through here again when its result is dispatched, it's admitted already
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        Admission admission = ((HandlerMethod) handler).getMethodAnnotation(Admission.class);
+        if (admission == null) {
+            return true;
+        }
+        AdmissionLimiter limiter = limiter(admission.value());
+        limiter.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit == null) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        permit.limiter.release(System.nanoTime() - permit.start);
+    }
+
+    AdmissionLimiter limiter(String name) {
+        return limiters.computeIfAbsent(name, this::createLimiter);
+    }
+
+    private AdmissionLimiter createLimiter(String name) {
+        AdmissionLimiter limiter = new AdmissionLimiter(name,
+                property(name, "limit", Integer.class),
+                property(name, "min-limit", Integer.class),
+                property(name, "max-limit", Integer.class),
+                property(name, "queue", Integer.class),
+                property(name, "max-wait-ms", Long.class),
+                property(name, "retry-after-seconds", Long.class),
+                property(name, "adaptive", Boolean.class),
+                property(name, "latency-tolerance", Double.class));
+        log.info("Created {}", limiter);
+        return limiter;
+    }
+
+    private <T> T property(String name, String key, Class<T> type) {
+        return environment.getProperty(PREFIX + name + "." + key, type,
+                environment.getRequiredProperty(PREFIX + DEFAULT + "." + key, type));
+    }
+
+    private static final class Permit {
+
+        private final AdmissionLimiter limiter;
+        private final long start;
+
+        private Permit(AdmissionLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+    }
+
+}
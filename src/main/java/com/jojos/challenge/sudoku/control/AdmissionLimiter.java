@@ -0,0 +1,180 @@
+package com.jojos.challenge.sudoku.control;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the requests of the mappings sharing it that are handled at the same time. Requests beyond the limit wait
+ * in a bounded queue, first come first served, for a bounded time:
+ * <ul>
+ * <li>a request finding the queue full is turned down right away with a 429</li>
+ * <li>a request that waited in vain is turned down with a 503</li>
+ * </ul>
+ * An adaptive limit follows the latency of the requests it let through, looked at in windows of as many requests
+ * as the limit. The limit drops by a tenth once the average latency of a window grows past the tolerance times
+ * the lowest one seen, which is the latency of the requests when nothing queues up behind the limit, and grows by one
+ * while the limit is fully used and the latency holds. The lowest latency is let up by a hundredth every window
+ * so that it follows the requests when they get slower for good.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+class AdmissionLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionLimiter.class);
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final boolean adaptive;
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+
+    // guarded by the lock
+    private int limit;
+    private int inFlight;
+    private int waiting;
+    // the window of requests the limit is adapted on
+    private int samples;
+    private long latencySum;
+    private int peakInFlight;
+    private long baselineNanos;
+
+    AdmissionLimiter(String name, int limit, int minLimit, int maxLimit, int queueCapacity, long maxWaitMillis,
+                     long retryAfterSeconds, boolean adaptive, double latencyTolerance) {
+        if (minLimit < 1 || limit < minLimit || maxLimit < limit) {
+            throw new IllegalArgumentException(String.format(
+                    "Admission limit of %s must be 1 <= min-limit %d <= limit %d <= max-limit %d",
+                    name, minLimit, limit, maxLimit));
+        }
+        this.name = name;
+        this.limit = limit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.adaptive = adaptive;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    /**
+     * Admit a request, waiting for one of the requests in flight to complete if the limit is reached.
+     * Every admitted request must be {@link #release(long) released} once it completes.
+     * @throws AdmissionRejectedException if the queue is full or the request waited too long
+     */
+    void acquire() throws AdmissionRejectedException {
+        lock.lock();
+        try {
+            // nobody may overtake the requests already waiting
+            if (inFlight < limit && waiting == 0) {
+                admit();
+                return;
+            }
+            if (waiting >= queueCapacity) {
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                        String.format("Too many requests for %s, %d in flight and %d waiting already", name, inFlight, waiting));
+            }
+            waiting++;
+            try {
+                long nanos = maxWaitNanos;
+                while (inFlight >= limit) {
+                    if (nanos <= 0) {
+                        throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                                String.format("Request for %s was not admitted within %d ms", name,
+                                        TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)));
+                    }
+                    nanos = available.awaitNanos(nanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                        String.format("Interrupted while waiting to be admitted for %s", name));
+            } finally {
+                waiting--;
+            }
+            admit();
+            // the limit may have grown by more than one, let the next one in as well
+            signalIfRoom();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release an admitted request that completed, letting the next waiting request in
+     * @param latencyNanos how long the request took since it was admitted
+     */
+    void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (adaptive) {
+                adapt(latencyNanos);
+            }
+            signalIfRoom();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit() {
+        inFlight++;
+        peakInFlight = Math.max(peakInFlight, inFlight);
+    }
+
+    private void signalIfRoom() {
+        if (waiting > 0 && inFlight < limit) {
+            available.signal();
+        }
+    }
+
+    private void adapt(long latencyNanos) {
+        samples++;
+        latencySum += latencyNanos;
+        if (samples < limit) {
+            return;
+        }
+        long average = latencySum / samples;
+        baselineNanos = baselineNanos == 0 ? average : Math.min(average, baselineNanos + baselineNanos / 100);
+        int previous = limit;
+        if (average > latencyTolerance * baselineNanos) {
+            limit = Math.max(minLimit, (int) (limit * 0.9));
+        } else if (peakInFlight >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (limit != previous) {
+            log.debug("Admission limit of {} is now {}, average latency {} us against {} us",
+                    name, limit, average / 1000, baselineNanos / 1000);
+        }
+        samples = 0;
+        latencySum = 0;
+        peakInFlight = inFlight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdmissionLimiter{name=%s, limit=%d, minLimit=%d, maxLimit=%d, queueCapacity=%d, " +
+                        "maxWaitMillis=%d, retryAfterSeconds=%d, adaptive=%s, latencyTolerance=%s}",
+                name, limit, minLimit, maxLimit, queueCapacity, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos),
+                retryAfterSeconds, adaptive, latencyTolerance);
+    }
+}
@@ -0,0 +1,30 @@
+package com.jojos.challenge.sudoku.control;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is turned down by the admission control before it is handled at all, see
+ * {@link AdmissionInterceptor}. Reported with its status, a 429 when too many requests wait already or a 503 when
+ * the request waited too long, and a Retry-After header.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class AdmissionRejectedException extends ApplicationException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
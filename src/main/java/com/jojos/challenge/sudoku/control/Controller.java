@@ -1,28 +1,74 @@
 package com.jojos.challenge.sudoku.control;
 
 import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Difficulty;
 import com.jojos.challenge.sudoku.domain.ErrorInfo;
+import com.jojos.challenge.sudoku.domain.Game;
+import com.jojos.challenge.sudoku.domain.HintResult;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.MoveSequence;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SequenceResult;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
 import com.jojos.challenge.sudoku.domain.SudokuMove;
 import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.journal.MoveJournal;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import com.jojos.challenge.sudoku.service.BatchValidator;
+import com.jojos.challenge.sudoku.service.ComputePool;
+import com.jojos.challenge.sudoku.service.GameService;
+import com.jojos.challenge.sudoku.service.HintService;
+import com.jojos.challenge.sudoku.service.PuzzleCatalog;
+import com.jojos.challenge.sudoku.service.PuzzlePool;
+import com.jojos.challenge.sudoku.service.Solver;
 import com.jojos.challenge.sudoku.service.Validator;
 import com.jojos.challenge.sudoku.utils.SudokuUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Out main and only controller which shall be used by Spring MVC to handle web request to the following addresses
- * HTTP GET /sudoku/table to request a new table
+ * HTTP GET /sudoku/table[?difficulty=EASY|MEDIUM|HARD|EXPERT] to request a new table
+ * HTTP GET /sudoku/table/{id} to request the table with the id given along with a new one, cacheable for good
  * HTTP POST /sudoku/validate -d {sudoku table, number, point}
+ * HTTP PUT /sudoku/validate/batch -d [{sudoku table, number, point}, ...]
+ * HTTP PUT /sudoku/validate/sequence -d {sudoku table, [{number, point}, ...]} to validate the moves of a whole game
+ * HTTP PUT /sudoku/validate/stream -d {sudoku table, number, point}\n... one validation result per line
+ * HTTP POST /sudoku/solve -d {values} to solve a table
+ * HTTP POST /sudoku/solve/stream -d {values}\n... one solution result per line
+ * HTTP POST /sudoku/hints -d {values} to request the candidates of every cell and the next forced move
+ * HTTP POST /sudoku/games [-d {values}] to start a game kept on the server
+ * HTTP PUT /sudoku/games/{id}/moves -d {number, point} to validate a move on a game kept on the server
+ * HTTP GET /sudoku/metrics to scrape the operational metrics in the Prometheus text format
+ *
+ * Solving and hints are computed asynchronously on the {@link ComputePool}, so they never hold a servlet thread
+ * while they run, and fail with a 503 if they don't complete in time. Every board of a stream to solve is solved
+ * on the pool as well, with the same timeout, and a board that isn't solved in time gets a 503 error line.
+ * Every mapping but the metrics is under the admission control named by its {@link Admission}, requests beyond
+ * the limits are turned down with a 429 or a 503 and a Retry-After header before they are handled.
  *
  * Created by karanikasg@gmail.com.
  */
@@ -32,28 +78,298 @@ public class Controller {
 
     private static final Logger log = LoggerFactory.getLogger(Controller.class);
 
+    @Autowired
+    PuzzlePool puzzlePool;
+
+    @Autowired
+    PuzzleCatalog puzzleCatalog;
+
     @Autowired
     Validator sudokuValidator;
 
+    @Autowired
+    BatchValidator batchValidator;
+
+    @Autowired
+    Solver sudokuSolver;
+
+    @Autowired
+    ComputePool computePool;
+
+    @Autowired
+    HintService hintService;
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    SudokuMetrics metrics;
+
+    @Autowired
+    MoveJournal moveJournal;
+
+    @Value("${sudoku.validate.batch.max-size}")
+    int maxSequenceSize;
+
+    @Admission("table")
     @RequestMapping(value = "/table", method = RequestMethod.GET)
-    public Board getNewTable() {
-        log.info("GET request on /table");
-        Board board = new Board(SudokuUtils.getSudokuTable());
-        log.info("Returning {}", board);
+    public Board getNewTable(@RequestParam(value = "difficulty", required = false) Difficulty difficulty)
+            throws ApplicationException {
+        log.debug("GET request on /table for difficulty {}", difficulty);
+        Board board = puzzleCatalog.identify(difficulty == null ? puzzlePool.take() : puzzlePool.take(difficulty));
+        log.debug("Returning {}", board);
         return board;
     }
 
+    /**
+     * The puzzle with an id never changes, so it's sent with a strong ETag and may be cached for good.
+     * A request with a matching If-None-Match is answered with a 304 and no body.
+     * Every form of the puzzle has its own mapping, so that it gets an ETag of its own.
+     */
+    @Admission("table")
+    @RequestMapping(value = "/table/{id}", method = RequestMethod.GET)
+    public Board getTable(@PathVariable("id") String id, WebRequest webRequest, HttpServletResponse response)
+            throws ApplicationException {
+        return table(id, PuzzleCatalog.JSON, webRequest, response);
+    }
+
+    @Admission("table")
+    @RequestMapping(value = "/table/{id}", method = RequestMethod.GET, produces = SudokuTextMessageConverter.MEDIA_TYPE)
+    public Board getTableText(@PathVariable("id") String id, WebRequest webRequest, HttpServletResponse response)
+            throws ApplicationException {
+        return table(id, PuzzleCatalog.TEXT, webRequest, response);
+    }
+
+    @Admission("table")
+    @RequestMapping(value = "/table/{id}", method = RequestMethod.GET, produces = SudokuBinaryMessageConverter.MEDIA_TYPE)
+    public Board getTableBinary(@PathVariable("id") String id, WebRequest webRequest, HttpServletResponse response)
+            throws ApplicationException {
+        return table(id, PuzzleCatalog.BINARY, webRequest, response);
+    }
+
+    @Admission("validate")
     @RequestMapping(value = "/validate", method = RequestMethod.PUT)
     public ValidationResult validate(@RequestBody SudokuMove sudokuMove) throws ApplicationException {
-        log.info("PUT Request {}", sudokuMove.toString());
-        ValidationResult validationResult = sudokuValidator.validateSudokuMove(sudokuMove);
-        log.info("Returning {}", validationResult);
+        log.debug("PUT Request {}", sudokuMove);
+        ValidationResult validationResult = record(null, sudokuMove.getNumber(), sudokuMove.getPoint(),
+                sudokuValidator.validateSudokuMove(sudokuMove));
+        log.debug("Returning {}", validationResult);
         return validationResult;
     }
 
+    @Admission("batch")
+    @RequestMapping(value = "/validate/batch", method = RequestMethod.PUT)
+    public List<ValidationResult> validateBatch(@RequestBody List<SudokuMove> sudokuMoves) throws ApplicationException {
+        log.debug("PUT Request with a batch of {} moves", sudokuMoves.size());
+        List<ValidationResult> validationResults = batchValidator.validateAll(sudokuMoves, sudokuValidator.threadSafe());
+        for (int i = 0; i < validationResults.size(); i++) {
+            record(null, sudokuMoves.get(i).getNumber(), sudokuMoves.get(i).getPoint(), validationResults.get(i));
+        }
+        log.debug("Returning {} results", validationResults.size());
+        return validationResults;
+    }
+
+    @Admission("batch")
+    @RequestMapping(value = "/validate/sequence", method = RequestMethod.PUT)
+    public SequenceResult validateSequence(@RequestBody MoveSequence moveSequence) throws ApplicationException {
+        List<Move> moves = moveSequence.getMoves();
+        log.debug("PUT Request with a sequence of {} moves", moves.size());
+        if (moves.size() > maxSequenceSize) {
+            throw new ApplicationException(String.format("Sequence of %d moves exceeds the maximum of %d",
+                    moves.size(), maxSequenceSize));
+        }
+        // the validators make the moves on the board of the sequence, the moves are journaled on a copy of it
+        short[][] board = SudokuUtils.copyOf(moveSequence.getBoard());
+        SequenceResult sequenceResult = sudokuValidator.validateSequence(moveSequence);
+        recordSequence(moves, board, sequenceResult);
+        log.debug("Returning {}", sequenceResult);
+        return sequenceResult;
+    }
+
+    /**
+     * Count and journal every move of a sequence that was looked at, as if they were validated one by one.
+     * Every move applied but the last one of a finished board was valid, the first invalid one or the first move
+     * on a board that was finished or invalid to begin with gets the result of the sequence.
+     */
+    private void recordSequence(List<Move> moves, short[][] board, SequenceResult sequenceResult) {
+        ValidationResult validationResult = sequenceResult.getValidationResult();
+        int movesApplied = sequenceResult.getMovesApplied();
+        for (int i = 0; i < movesApplied; i++) {
+            Move move = moves.get(i);
+            board[move.getPoint().getRow()][move.getPoint().getColumn()] = move.getNumber();
+            record(null, move.getNumber(), move.getPoint(), i < movesApplied - 1
+                    || validationResult.getValidationStatus() != ValidationResult.ValidationStatus.FINISHED
+                    ? ValidationResult.of(board, ValidationResult.State.AFTER_MOVE, Collections.emptyList())
+                    : validationResult);
+        }
+        // no move is applied on a board that was finished or invalid to begin with
+        if (sequenceResult.getInvalidMoveIndex() != null || movesApplied == 0) {
+            Move move = moves.get(movesApplied);
+            record(null, move.getNumber(), move.getPoint(), validationResult);
+        }
+    }
+
+    @Admission("stream")
+    @RequestMapping(value = "/validate/stream", method = RequestMethod.PUT, consumes = NdjsonStreamer.MEDIA_TYPE)
+    public void validateStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("PUT Request with a stream of moves");
+        response.setContentType(NdjsonStreamer.MEDIA_TYPE);
+        Validator validator = sudokuValidator.threadSafe();
+        long lines = ndjsonStreamer.process(request.getInputStream(), response.getOutputStream(),
+                request.getRequestURL().toString(), WarningsAdvice.viewOf(request.getParameter(WarningsAdvice.PARAMETER)),
+                SudokuMove.class, sudokuMove -> record(null,
+                        sudokuMove.getNumber(), sudokuMove.getPoint(), validator.validateSudokuMove(sudokuMove)));
+        log.debug("Returned {} results", lines);
+    }
+
+    @Admission("solve")
+    @RequestMapping(value = "/solve", method = RequestMethod.POST)
+    public DeferredResult<SolutionResult> solve(@RequestBody Board board) throws ApplicationException {
+        log.debug("POST Request {}", board);
+        return compute(() -> {
+            SolutionResult solutionResult = sudokuSolver.solve(board);
+            log.debug("Returning {}", solutionResult);
+            return solutionResult;
+        });
+    }
+
+    @Admission("stream")
+    @RequestMapping(value = "/solve/stream", method = RequestMethod.POST, consumes = NdjsonStreamer.MEDIA_TYPE)
+    public void solveStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("POST Request with a stream of boards");
+        response.setContentType(NdjsonStreamer.MEDIA_TYPE);
+        long lines = ndjsonStreamer.process(request.getInputStream(), response.getOutputStream(),
+                request.getRequestURL().toString(), null, Board.class,
+                board -> computePool.call(() -> sudokuSolver.solve(board)));
+        log.debug("Returned {} results", lines);
+    }
+
+    @Admission("hints")
+    @RequestMapping(value = "/hints", method = RequestMethod.POST)
+    public DeferredResult<HintResult> hints(@RequestBody Board board) throws ApplicationException {
+        log.debug("POST Request {}", board);
+        return compute(() -> {
+            HintResult hintResult = hintService.hints(board);
+            log.debug("Returning {}", hintResult);
+            return hintResult;
+        });
+    }
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @Admission("validate")
+    @RequestMapping(value = "/games", method = RequestMethod.POST)
+    public Game createGame(@RequestBody(required = false) Board board) throws ApplicationException {
+        log.debug("POST request on /games");
+        Game game = gameService.createGame(board != null ? board.getValues() : null);
+        moveJournal.recordGameCreated(game.getId(), game.getBoard());
+        log.debug("Returning {}", game);
+        return game;
+    }
+
+    @Admission("validate")
+    @RequestMapping(value = "/games/{id}/moves", method = RequestMethod.PUT)
+    public ValidationResult move(@PathVariable("id") String id, @RequestBody Move move) throws ApplicationException {
+        log.debug("PUT Request {} on game {}", move, id);
+        ValidationResult validationResult = record(id, move.getNumber(), move.getPoint(), gameService.applyMove(id, move));
+        log.debug("Returning {}", validationResult);
+        return validationResult;
+    }
+
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET, produces = SudokuMetrics.CONTENT_TYPE)
+    public String metrics() {
+        return metrics.render();
+    }
+
+    /**
+     * @param form the form the puzzle is sent in, see {@link PuzzleCatalog#etagOf}
+     * @return the puzzle with the given id or null if the client has it already
+     * @throws NotFoundException if there is no puzzle with that id
+     */
+    private Board table(String id, String form, WebRequest webRequest, HttpServletResponse response)
+            throws NotFoundException {
+        log.debug("GET request on /table/{} as {}", id, form);
+        // resolved first, so that an id that is not a puzzle is not answered with any caching headers
+        Board board = puzzleCatalog.get(id);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, PuzzleCatalog.CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(PuzzleCatalog.etagOf(id, form))) {
+            log.debug("Returning not modified");
+            return null;
+        }
+        log.debug("Returning {}", board);
+        return board;
+    }
+
+    /**
+     * Run the given work on the compute pool, releasing the servlet thread until the work completes.
+     * If it doesn't complete in time, the work is cancelled and the request fails with a 503.
+     * @throws ServiceUnavailableException if too much work is already waiting for the pool
+     */
+    private <T> DeferredResult<T> compute(Supplier<T> work) throws ServiceUnavailableException {
+        long timeoutMillis = computePool.getTimeoutMillis();
+        DeferredResult<T> deferredResult = new DeferredResult<>(timeoutMillis);
+        CompletableFuture<T> future = computePool.submit(work);
+        deferredResult.onTimeout(() -> {
+            future.cancel(true);
+            deferredResult.setErrorResult(new ServiceUnavailableException(
+                    String.format("Request did not complete within %d ms", timeoutMillis)));
+        });
+        future.whenComplete((result, e) -> {
+            if (e != null) {
+                deferredResult.setErrorResult(e);
+            } else {
+                deferredResult.setResult(result);
+            }
+        });
+        return deferredResult;
+    }
+
+    /**
+     * Count the result of a validated move and journal it.
+     * @param gameId the id of the game the move was made on or null if it was validated without a game
+     * @return the given validation result
+     */
+    private ValidationResult record(String gameId, short number, Point point, ValidationResult validationResult) {
+        metrics.recordValidation(validationResult);
+        moveJournal.recordMove(gameId, number, point, validationResult);
+        return validationResult;
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    ResponseEntity<ErrorInfo> handleAdmissionRejected(HttpServletRequest req, AdmissionRejectedException ex) {
+        metrics.recordError(ex);
+        ErrorInfo errorInfo = new ErrorInfo(ex.getStatus(), req.getRequestURL().toString(), ex);
+        log.warn("Request not admitted, returning error {}", errorInfo);
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorInfo);
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(NotFoundException.class)
+    ErrorInfo handleNotFound(HttpServletRequest req, NotFoundException ex) {
+        metrics.recordError(ex);
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.NOT_FOUND, req.getRequestURL().toString(), ex);
+        log.warn("Not found, returning error {}", errorInfo);
+        return errorInfo;
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    ErrorInfo handleServiceUnavailable(HttpServletRequest req, ServiceUnavailableException ex) {
+        metrics.recordError(ex);
+        ErrorInfo errorInfo = new ErrorInfo(HttpStatus.SERVICE_UNAVAILABLE, req.getRequestURL().toString(), ex);
+        log.warn("Service unavailable, returning error {}", errorInfo);
+        return errorInfo;
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(Exception.class)
     ErrorInfo handleBadRequest(HttpServletRequest req, Exception ex) {
+        metrics.recordError(ex);
         ErrorInfo errorInfo = new ErrorInfo(HttpStatus.BAD_REQUEST, req.getRequestURL().toString(), ex);
         log.error("Handling exception and returning error {}", errorInfo.toString());
         return errorInfo;
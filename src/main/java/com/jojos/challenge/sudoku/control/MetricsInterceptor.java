@@ -0,0 +1,46 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Times every request and records it by the pattern of the endpoint that handled it and the status of the response.
+ * Asynchronous requests are recorded once, when their result has been written.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class MetricsInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+
+    @Autowired
+    SudokuMetrics metrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an asynchronous request comes through here again when its result is dispatched, keep the original start
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        metrics.recordRequest(request.getMethod(), pattern != null ? pattern.toString() : "unmapped",
+                response.getStatus(), System.nanoTime() - (Long) start);
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jojos.challenge.sudoku.domain.ErrorInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Processes a stream of newline delimited json (NDJSON) objects, one line at a time, writing one result line per input line.
+ * Only a single line is held in memory at any time, whatever the size of the stream, and since the input is read
+ * only after the previous result was written, a client that doesn't read its results stops the reading of its input.
+ * Lines that can't be read or processed produce an {@link ErrorInfo} line, with a 503 status if they couldn't be
+ * processed in time and a 400 otherwise, and the processing goes on with the next one.
+ * Blank lines are skipped.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class NdjsonStreamer {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final Logger log = LoggerFactory.getLogger(NdjsonStreamer.class);
+
+    // protects against a client sending a single endless line
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    // the results are flushed by the streamer itself, not after every one of them
+    private final ObjectWriter writer;
+
+    @Autowired
+    public NdjsonStreamer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param in the stream of input lines
+     * @param out where to write the result lines
+     * @param url the url the stream was sent to, reported in error lines
+     * @param view the json view to write the results with, null for the default one
+     * @param type the type of the objects on the input lines
+     * @param processor what to do with every input object
+     * @return the number of lines processed
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public <T, R> long process(InputStream in, OutputStream out, String url, Class<?> view,
+                               Class<T> type, Function<T, R> processor) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type);
+        ObjectWriter writer = view == null ? this.writer : this.writer.withView(view);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // the lines are separated by the streamer, not by the space put between root values
+        generator.setRootValueSeparator(null);
+
+        long lineNumber = 0;
+        StringBuilder line = new StringBuilder();
+        while (readLine(lines, line)) {
+            ++lineNumber;
+            if (line.length() == 0 || line.toString().trim().isEmpty()) {
+                continue;
+            }
+            Object result;
+            try {
+                if (line.length() > MAX_LINE_LENGTH) {
+                    throw new ApplicationException(String.format("Line is longer than %d characters", MAX_LINE_LENGTH));
+                }
+                result = processor.apply(reader.readValue(line.toString()));
+            } catch (Exception e) {
+                ApplicationException cause = new ApplicationException(
+                        String.format("Line %d: %s", lineNumber, rootMessage(e)));
+                log.debug("Failed to process line", e);
+                result = new ErrorInfo(e instanceof ServiceUnavailableException
+                        ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST, url, cause);
+            }
+            writer.writeValue(generator, result);
+            generator.writeRaw('\n');
+            // flush only when the next line is not already there, so results go out as soon as the client waits for them
+            if (!lines.ready()) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        log.debug("Processed {} lines", lineNumber);
+        return lineNumber;
+    }
+
+    /**
+     * Read the next line, keeping no more than {@link #MAX_LINE_LENGTH} + 1 characters of it.
+     * @return false if the end of the stream has been reached
+     */
+    private static boolean readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() <= MAX_LINE_LENGTH) {
+                line.append((char) c);
+            }
+        }
+        return c != -1 || line.length() > 0;
+    }
+
+    /**
+     * @return the message of the application exception that caused the given one if any, or else its own message
+     */
+    private static String rootMessage(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApplicationException) {
+                return cause.getMessage();
+            }
+        }
+        return e.getMessage();
+    }
+
+}
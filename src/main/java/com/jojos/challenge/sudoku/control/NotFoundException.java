@@ -0,0 +1,14 @@
+package com.jojos.challenge.sudoku.control;
+
+/**
+ * Thrown when a request asks for something by an id that doesn't identify anything, e.g. a puzzle of the catalog,
+ * as opposed to a request that is wrong in its content. Reported with a 404 status.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class NotFoundException extends ApplicationException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
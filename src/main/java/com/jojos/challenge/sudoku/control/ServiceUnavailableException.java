@@ -0,0 +1,14 @@
+package com.jojos.challenge.sudoku.control;
+
+/**
+ * Thrown when a request can't be served right now, because the server is too busy or the request took too long,
+ * as opposed to a request that is wrong in itself. Reported with a 503 status.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class ServiceUnavailableException extends ApplicationException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
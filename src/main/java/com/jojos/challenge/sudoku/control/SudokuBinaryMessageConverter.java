@@ -0,0 +1,131 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static com.jojos.challenge.sudoku.utils.BoardCodec.PACKED_SIZE;
+
+/**
+ * Reads and writes our domain objects in a packed binary form, negotiated by the media type {@value #MEDIA_TYPE}.
+ * Boards take 41 bytes at 4 bits per cell, see {@link BoardCodec}, followed by the rest of the fields:
+ * <pre>
+ * Board            {@code <board>}
+ * SudokuMove       {@code <board> <number> <row << 4 | column>}
+ * Move             {@code <number> <row << 4 | column>}
+ * ValidationResult {@code <board> <validationStatus << 1 | state> <conflict count as short> <conflict>...}
+ * SolutionResult   {@code <board> <solutionStatus>}
+ * Conflict         {@code <type> <value> <row << 4 | column> <row << 4 | column of the conflicting cell or 0xFF>}
+ * </pre>
+ * where the enums are written as a byte of their ordinal. Conflicts are written as they are, the invalidity warnings
+ * rendered from them are left out.
+ * Only the request objects can be read and only the response objects can be written.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class SudokuBinaryMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE = "application/x-sudoku";
+
+    public SudokuBinaryMessageConverter() {
+        super(MediaType.parseMediaType(MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return canReadType(clazz) || canWriteType(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return canReadType(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return canWriteType(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] bytes = StreamUtils.copyToByteArray(inputMessage.getBody());
+        if (clazz == Board.class) {
+            checkLength(bytes, PACKED_SIZE);
+            return new Board(BoardCodec.unpack(bytes, 0));
+        }
+        if (clazz == SudokuMove.class) {
+            checkLength(bytes, PACKED_SIZE + 2);
+            return new SudokuMove(BoardCodec.unpack(bytes, 0), bytes[PACKED_SIZE], point(bytes[PACKED_SIZE + 1]));
+        }
+        checkLength(bytes, 2);
+        return new Move(bytes[0], point(bytes[1]));
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        byte[] board = new byte[PACKED_SIZE];
+        if (object instanceof Board) {
+            BoardCodec.pack(((Board) object).getValues(), board, 0);
+            outputMessage.getBody().write(board);
+        } else if (object instanceof ValidationResult) {
+            ValidationResult validationResult = (ValidationResult) object;
+            BoardCodec.pack(validationResult.getBoard(), board, 0);
+            DataOutputStream out = new DataOutputStream(outputMessage.getBody());
+            out.write(board);
+            out.writeByte(validationResult.getValidationStatus().ordinal() << 1 | validationResult.getState().ordinal());
+            List<Conflict> conflicts = validationResult.getConflicts();
+            out.writeShort(conflicts.size());
+            for (Conflict conflict : conflicts) {
+                out.writeByte(conflict.getType().ordinal());
+                out.writeByte(conflict.getValue());
+                out.writeByte(point(conflict.getCell()));
+                out.writeByte(conflict.getConflictingCell() == null ? 0xFF : point(conflict.getConflictingCell()));
+            }
+            out.flush();
+        } else {
+            SolutionResult solutionResult = (SolutionResult) object;
+            BoardCodec.pack(solutionResult.getBoard(), board, 0);
+            outputMessage.getBody().write(board);
+            outputMessage.getBody().write(solutionResult.getSolutionStatus().ordinal());
+        }
+    }
+
+    private static boolean canReadType(Class<?> clazz) {
+        return clazz == Board.class || clazz == SudokuMove.class || clazz == Move.class;
+    }
+
+    private static boolean canWriteType(Class<?> clazz) {
+        return clazz == Board.class || clazz == ValidationResult.class || clazz == SolutionResult.class;
+    }
+
+    private static Point point(byte b) {
+        return new Point((short) ((b >> 4) & 0xF), (short) (b & 0xF));
+    }
+
+    private static int point(Point point) {
+        return point.getRow() << 4 | point.getColumn();
+    }
+
+    private static void checkLength(byte[] bytes, int expected) {
+        if (bytes.length != expected) {
+            throw new HttpMessageNotReadableException(
+                    String.format("Expected %d bytes but got %d", expected, bytes.length));
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads and writes our domain objects in a compact text form, negotiated by the media type {@value #MEDIA_TYPE}.
+ * Boards are written in their 81 character form, see {@link BoardCodec}, followed by the rest of the fields separated by spaces:
+ * <pre>
+ * Board            {@code <board>}
+ * SudokuMove       {@code <board> <number> <row> <column>}
+ * Move             {@code <number> <row> <column>}
+ * ValidationResult {@code <board> <validationStatus> <state>} followed by a line per invalidity warning
+ *                  if they were asked for, see {@link WarningsAdvice}
+ * SolutionResult   {@code <board> <solutionStatus>}
+ * </pre>
+ * Only the request objects can be read and only the response objects can be written.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class SudokuTextMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE = "text/x-sudoku";
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    public SudokuTextMessageConverter() {
+        super(new MediaType("text", "x-sudoku", CHARSET));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return canReadType(clazz) || canWriteType(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return canReadType(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return canWriteType(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        String[] fields = StreamUtils.copyToString(inputMessage.getBody(), CHARSET).trim().split("\\s+");
+        try {
+            if (clazz == Board.class) {
+                checkFieldCount(fields, 1);
+                return new Board(BoardCodec.fromText(fields[0]));
+            }
+            if (clazz == SudokuMove.class) {
+                checkFieldCount(fields, 4);
+                return new SudokuMove(BoardCodec.fromText(fields[0]), Short.parseShort(fields[1]),
+                        new Point(Short.parseShort(fields[2]), Short.parseShort(fields[3])));
+            }
+            checkFieldCount(fields, 3);
+            return new Move(Short.parseShort(fields[0]),
+                    new Point(Short.parseShort(fields[1]), Short.parseShort(fields[2])));
+        } catch (NumberFormatException e) {
+            throw new HttpMessageNotReadableException("Could not read " + clazz.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        StringBuilder text = new StringBuilder(128);
+        if (object instanceof Board) {
+            text.append(BoardCodec.toText(((Board) object).getValues()));
+        } else if (object instanceof ValidationResult) {
+            ValidationResult validationResult = (ValidationResult) object;
+            text.append(BoardCodec.toText(validationResult.getBoard()))
+                    .append(' ').append(validationResult.getValidationStatus())
+                    .append(' ').append(validationResult.getState());
+            if (warningsRequested()) {
+                for (String warning : validationResult.getInvalidityWarnings()) {
+                    text.append('\n').append(warning);
+                }
+            }
+        } else {
+            SolutionResult solutionResult = (SolutionResult) object;
+            text.append(BoardCodec.toText(solutionResult.getBoard()))
+                    .append(' ').append(solutionResult.getSolutionStatus());
+        }
+        text.append('\n');
+        outputMessage.getBody().write(text.toString().getBytes(CHARSET));
+    }
+
+    /**
+     * @return whether the request being answered asks for the invalidity warnings
+     */
+    private static boolean warningsRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes && WarningsAdvice.isRequested(
+                ((ServletRequestAttributes) attributes).getRequest().getParameter(WarningsAdvice.PARAMETER));
+    }
+
+    private static boolean canReadType(Class<?> clazz) {
+        return clazz == Board.class || clazz == SudokuMove.class || clazz == Move.class;
+    }
+
+    private static boolean canWriteType(Class<?> clazz) {
+        return clazz == Board.class || clazz == ValidationResult.class || clazz == SolutionResult.class;
+    }
+
+    private static void checkFieldCount(String[] fields, int expected) {
+        if (fields.length != expected) {
+            throw new HttpMessageNotReadableException(
+                    String.format("Expected %d fields separated by spaces but got %d", expected, fields.length));
+        }
+    }
+
+}
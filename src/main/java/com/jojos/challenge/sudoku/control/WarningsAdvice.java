@@ -0,0 +1,53 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.jojos.challenge.sudoku.domain.json.ValidationResultJson;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Validation results are written with their structured conflicts only, the invalidity warnings rendered from them
+ * are written too when the client asks for them with the request parameter warnings=true.
+ * The other forms of the results, see {@link SudokuTextMessageConverter}, follow the same parameter.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@ControllerAdvice
+public class WarningsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String PARAMETER = "warnings";
+
+    /**
+     * @param warnings the value of the {@link #PARAMETER} request parameter, null if it wasn't given
+     * @return the view to write the response json with, null for the default one
+     */
+    public static Class<?> viewOf(String warnings) {
+        return isRequested(warnings) ? ValidationResultJson.Warnings.class : null;
+    }
+
+    /**
+     * @param warnings the value of the {@link #PARAMETER} request parameter, null if it wasn't given
+     * @return whether the invalidity warnings are to be written
+     */
+    public static boolean isRequested(String warnings) {
+        return Boolean.parseBoolean(warnings);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            Class<?> view = viewOf(((ServletServerHttpRequest) request).getServletRequest().getParameter(PARAMETER));
+            if (view != null) {
+                bodyContainer.setSerializationView(view);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.jojos.challenge.sudoku.control;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+import java.util.List;
+
+/**
+ * Our additions to the Spring MVC configuration.
+ * The compact text and binary forms of our domain objects are registered next to json. They are appended after
+ * the default converters, so json stays the form used when the client doesn't ask for another one
+ * through the Content-Type and Accept headers.
+ * Every request to our controller goes through the {@link MetricsInterceptor}, and then through the
+ * {@link AdmissionInterceptor} unless sudoku.admission.enabled is false, so that turned down requests are recorded too.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Configuration
+public class WebConfiguration extends WebMvcConfigurerAdapter {
+
+    @Autowired
+    MetricsInterceptor metricsInterceptor;
+
+    @Autowired
+    AdmissionInterceptor admissionInterceptor;
+
+    @Value("${sudoku.admission.enabled}")
+    boolean admissionEnabled;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new SudokuTextMessageConverter());
+        converters.add(new SudokuBinaryMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricsInterceptor).addPathPatterns("/sudoku/**");
+        if (admissionEnabled) {
+            registry.addInterceptor(admissionInterceptor).addPathPatterns("/sudoku/**");
+        }
+    }
+
+}
@@ -1,27 +1,78 @@
 package com.jojos.challenge.sudoku.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jojos.challenge.sudoku.domain.json.BoardJson;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+
 import java.util.Arrays;
 
 /**
  * A wrapper class for the sudoku 2D 9x9 board of short numbers.
+ * Puzzles handed out by the service also carry their difficulty and its score, and their id in the
+ * {@link com.jojos.challenge.sudoku.service.PuzzleCatalog}, which are left out when unknown.
+ * Boards are immutable: the values are copied on the way in and on the way out, so the same board can be
+ * shared between requests and threads, e.g. by the catalog, without anyone changing it under the others.
  *
  * Created by karanikasg@gmail.com.
  */
+@JsonSerialize(using = BoardJson.Serializer.class)
+@JsonDeserialize(using = BoardJson.Deserializer.class)
 public class Board {
     private final short[][] values;
+    private final Difficulty difficulty;
+    private final Integer score;
+    private final String id;
 
     public Board(short[][] values) {
-        this.values = values;
+        this(values, null, null);
+    }
+
+    public Board(short[][] values, Difficulty difficulty, Integer score) {
+        this(values, difficulty, score, null);
     }
 
+    public Board(short[][] values, Difficulty difficulty, Integer score, String id) {
+        this.values = values != null ? SudokuUtils.copyOf(values) : null;
+        this.difficulty = difficulty;
+        this.score = score;
+        this.id = id;
+    }
+
+    /**
+     * @return a copy of the values of the board, free to modify, or null if it has none
+     */
     public short[][] getValues() {
-        return values;
+        return values != null ? SudokuUtils.copyOf(values) : null;
+    }
+
+    /**
+     * @return the difficulty of the puzzle or null if it was not rated
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return the score of the puzzle, higher for harder puzzles within the same difficulty, or null if it was not rated
+     */
+    public Integer getScore() {
+        return score;
+    }
+
+    /**
+     * @return the id of the puzzle in the catalog, derived from its values, or null if it was not handed out by the catalog
+     */
+    public String getId() {
+        return id;
     }
 
     @Override
     public String toString() {
         return "Board{" +
                 "values=" + Arrays.deepToString(values) +
+                (difficulty != null ? ", difficulty=" + difficulty + ", score=" + score : "") +
+                (id != null ? ", id=" + id : "") +
                 '}';
     }
 }
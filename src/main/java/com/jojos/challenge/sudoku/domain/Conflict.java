@@ -0,0 +1,138 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jojos.challenge.sudoku.domain.json.ConflictJson;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+
+/**
+ * Why a board or a move is invalid, in a form that clients can act on without parsing any text:
+ * the value in conflict, the cell it is at, or is about to be placed at, and the cell it conflicts with.
+ * For a board that is already invalid the cell is the later of two equal values in row major order
+ * and the conflicting cell the first one. For a move the cell is the point of the move.
+ * The human readable message is only rendered when asked for, see {@link #describe(State, BoardGeometry)}.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@JsonSerialize(using = ConflictJson.Serializer.class)
+@JsonDeserialize(using = ConflictJson.Deserializer.class)
+public class Conflict {
+    private final Type type;
+    private final short value;
+    private final Point cell;
+    private final Point conflictingCell;
+
+    public Conflict(Type type, short value, Point cell, Point conflictingCell) {
+        this.type = type;
+        this.value = value;
+        this.cell = cell;
+        this.conflictingCell = conflictingCell;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public short getValue() {
+        return value;
+    }
+
+    public Point getCell() {
+        return cell;
+    }
+
+    /**
+     * @return the cell already holding the value, the cell itself for {@link Type#OCCUPIED}
+     * and null for {@link Type#OUT_OF_RANGE}
+     */
+    public Point getConflictingCell() {
+        return conflictingCell;
+    }
+
+    /**
+     * @param state {@link State#BEFORE_MOVE} for a conflict found on the board as it was given,
+     * {@link State#AFTER_MOVE} for a conflict of the move
+     * @param geometry the geometry of the board, to number the square of the conflict
+     * @return the message of the conflict, as it used to be reported in the invalidity warnings
+     */
+    public String describe(State state, BoardGeometry geometry) {
+        boolean move = state == State.AFTER_MOVE;
+        switch (type) {
+            case ROW:
+                return move ? String.format("Board already contains the same number %d at row %d", value, cell.getRow())
+                        : String.format("Duplicate value %d found in %d row", value, cell.getRow());
+            case COLUMN:
+                return move ? String.format("Board already contains the same number %d at column %d", value, cell.getColumn())
+                        : String.format("Duplicate value %d found in %d column", value, cell.getColumn());
+            case SQUARE:
+                short square = geometry.squareIndex(cell.getRow(), cell.getColumn());
+                return move ? String.format("Board already contains the same number %d at square %d", value, square)
+                        : String.format("Duplicate value %d found in %d square", value, square);
+            case OCCUPIED:
+                return String.format("Board already contains number %d at %s", value, cell);
+            default:
+                return String.format("Value %d on board is not between permitted values", value);
+        }
+    }
+
+    /**
+     * @return the messages of the given conflicts in the same order
+     * @see #describe(State, BoardGeometry)
+     */
+    public static List<String> describe(List<Conflict> conflicts, State state, BoardGeometry geometry) {
+        List<String> messages = new ArrayList<>(conflicts.size());
+        for (Conflict conflict : conflicts) {
+            messages.add(conflict.describe(state, geometry));
+        }
+        return messages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Conflict conflict = (Conflict) o;
+        return value == conflict.value &&
+                type == conflict.type &&
+                Objects.equals(cell, conflict.cell) &&
+                Objects.equals(conflictingCell, conflict.conflictingCell);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, value, cell, conflictingCell);
+    }
+
+    @Override
+    public String toString() {
+        return "Conflict{" +
+                "type=" + type +
+                ", value=" + value +
+                ", cell=" + cell +
+                ", conflictingCell=" + conflictingCell +
+                '}';
+    }
+
+    public enum Type {
+        // the value is already in the row
+        ROW,
+        // the value is already in the column
+        COLUMN,
+        // the value is already in the square
+        SQUARE,
+        // the cell of the move already has a value
+        OCCUPIED,
+        // the value is not between 0 and the size of the board
+        OUT_OF_RANGE
+    }
+}
@@ -0,0 +1,17 @@
+package com.jojos.challenge.sudoku.domain;
+
+/**
+ * How hard a puzzle is for a human, by the hardest technique needed to solve it without guessing.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public enum Difficulty {
+    // naked and hidden singles are enough
+    EASY,
+    // needs pairs, pointing or box-line reduction
+    MEDIUM,
+    // needs an X-wing
+    HARD,
+    // can't be solved by any of the above, some guessing is needed
+    EXPERT
+}
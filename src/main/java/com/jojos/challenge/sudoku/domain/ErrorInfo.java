@@ -1,5 +1,7 @@
 package com.jojos.challenge.sudoku.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jojos.challenge.sudoku.domain.json.ErrorInfoJson;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -8,6 +10,7 @@ import org.springframework.http.HttpStatus;
  *
  * Created by karanikasg@gmail.com.
  */
+@JsonSerialize(using = ErrorInfoJson.Serializer.class)
 public class ErrorInfo {
     // making these fields public is necessary in order to be readable in the response body
     public final int status;
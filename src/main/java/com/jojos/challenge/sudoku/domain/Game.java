@@ -0,0 +1,34 @@
+package com.jojos.challenge.sudoku.domain;
+
+import java.util.Arrays;
+
+/**
+ * A game kept on the server side. Clients refer to it by its id and send only {@link Move}s.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class Game {
+    private final String id;
+    private final short[][] board;
+
+    public Game(String id, short[][] board) {
+        this.id = id;
+        this.board = board;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public short[][] getBoard() {
+        return board;
+    }
+
+    @Override
+    public String toString() {
+        return "Game{" +
+                "id='" + id + '\'' +
+                ", board=" + Arrays.deepToString(board) +
+                '}';
+    }
+}
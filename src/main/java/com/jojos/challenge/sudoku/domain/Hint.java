@@ -0,0 +1,56 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A move that is logically forced by the current board, together with the reason it is forced.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class Hint {
+    private final short number;
+    private final Point point;
+    private final Reason reason;
+
+    @JsonCreator
+    public Hint(@JsonProperty("number") short number,
+                @JsonProperty("point") Point point,
+                @JsonProperty("reason") Reason reason) {
+        this.number = number;
+        this.point = point;
+        this.reason = reason;
+    }
+
+    public short getNumber() {
+        return number;
+    }
+
+    public Point getPoint() {
+        return point;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "Hint{" +
+                "number=" + number +
+                ", point=" + point +
+                ", reason=" + reason +
+                '}';
+    }
+
+    public enum Reason {
+        // the number is the only candidate left for the cell
+        NAKED_SINGLE,
+        // the cell is the only place left for the number in its row
+        HIDDEN_SINGLE_ROW,
+        // the cell is the only place left for the number in its column
+        HIDDEN_SINGLE_COLUMN,
+        // the cell is the only place left for the number in its square
+        HIDDEN_SINGLE_SQUARE
+    }
+}
@@ -0,0 +1,44 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
+/**
+ * The candidates (pencil marks) of every cell of a board and the next forced move if there is one.
+ * The candidates of a cell are a mask where bit (n - 1) is set if number n can still be placed at that cell,
+ * so 0 for the cells that are already filled in. The masks are ints so that they fit the numbers of any board size.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class HintResult {
+    private final int[][] candidates;
+    private final Hint nextMove;
+
+    @JsonCreator
+    public HintResult(@JsonProperty("candidates") int[][] candidates,
+                      @JsonProperty("nextMove") Hint nextMove) {
+        this.candidates = candidates;
+        this.nextMove = nextMove;
+    }
+
+    public int[][] getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @return the next forced move or null if the board is finished or can't be continued by singles alone
+     */
+    public Hint getNextMove() {
+        return nextMove;
+    }
+
+    @Override
+    public String toString() {
+        return "HintResult{" +
+                "candidates=" + Arrays.deepToString(candidates) +
+                ", nextMove=" + nextMove +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+
+/**
+ * A single move without any board, used when the board is kept by the server, see {@link Game}.
+ * The same value ranges as in {@link SudokuMove} apply. Since the size of the board is not known here,
+ * the values are only checked against the largest supported board and then against the actual one by the game.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class Move {
+    private final short number;
+    private final Point point;
+
+    @JsonCreator
+    public Move(@JsonProperty("number") short number,
+                @JsonProperty("point") Point point) throws ApplicationException {
+        checkValidValuesOrThrow(number, point, BoardGeometry.MAX_SIZE);
+        this.number = number;
+        this.point = point;
+    }
+
+    public short getNumber() {
+        return number;
+    }
+
+    public Point getPoint() {
+        return point;
+    }
+
+    /**
+     * Validation for numbers and points ranges
+     * @param number must be between 0-size
+     * @param point each x, y of point must be between 0-(size - 1)
+     * @param size the number of rows and columns of the board the move is made on, 9 for the classic board
+     * @throws ApplicationException if any of the two arguments are out of the permitted values
+     */
+    public static void checkValidValuesOrThrow(int number, Point point, int size) throws ApplicationException {
+        if (number < 0 || number > size) {
+            throw new ApplicationException(String.format("Number %d is not between 0-%d", number, size));
+        }
+        if (point.getRow() < 0 || point.getRow() >= size ||
+                point.getColumn() < 0 || point.getColumn() >= size) {
+            throw new ApplicationException(String.format("Point values %s are not between 0-%d", point, size - 1));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Move{" +
+                "number=" + number +
+                ", point=" + point +
+                '}';
+    }
+}
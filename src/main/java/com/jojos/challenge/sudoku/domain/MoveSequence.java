@@ -0,0 +1,49 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jojos.challenge.sudoku.control.ApplicationException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A starting board and the moves made on it one after the other, e.g. a game played offline that is uploaded
+ * once the client is back online. Every {@link Move} is checked against the largest board only, as in games,
+ * and then against the actual board when the sequence is validated.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class MoveSequence {
+    private final short[][] board;
+    private final List<Move> moves;
+
+    @JsonCreator
+    public MoveSequence(@JsonProperty("board") short[][] board,
+                        @JsonProperty("moves") List<Move> moves) throws ApplicationException {
+        if (board == null) {
+            throw new ApplicationException("Sequence has no board");
+        }
+        if (moves == null || moves.isEmpty()) {
+            throw new ApplicationException("Sequence has no moves");
+        }
+        this.board = board;
+        this.moves = moves;
+    }
+
+    public short[][] getBoard() {
+        return board;
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveSequence{" +
+                "board=" + Arrays.deepToString(board) +
+                ", moves=" + moves +
+                '}';
+    }
+}
@@ -1,7 +1,8 @@
 package com.jojos.challenge.sudoku.domain;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jojos.challenge.sudoku.domain.json.PointJson;
 
 /**
  * This is not a geometric point horizontal (X) axis and then vertical (Y) axis.
@@ -9,13 +10,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  *
  * Created by karanikasg@gmail.com.
  */
+@JsonSerialize(using = PointJson.Serializer.class)
+@JsonDeserialize(using = PointJson.Deserializer.class)
 public class Point {
     private final short row;
     private final short column;
 
-    @JsonCreator
-    public Point(@JsonProperty("row") short row,
-                 @JsonProperty("column") short column) {
+    public Point(short row, short column) {
         this.row = row;
         this.column = column;
     }
@@ -28,6 +29,23 @@ public class Point {
         return column;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Point point = (Point) o;
+        return row == point.row && column == point.column;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * row + column;
+    }
+
     @Override
     public String toString() {
         return "Point(" + row + ", " + column + '}';
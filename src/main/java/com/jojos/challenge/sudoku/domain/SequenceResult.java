@@ -0,0 +1,56 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The outcome of validating a {@link MoveSequence}. Moves are applied in order until one of them is invalid
+ * or finishes the board, the moves after that are not looked at.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class SequenceResult {
+    private final ValidationResult validationResult;
+    private final int movesApplied;
+    private final Integer invalidMoveIndex;
+
+    @JsonCreator
+    public SequenceResult(@JsonProperty("validationResult") ValidationResult validationResult,
+                          @JsonProperty("movesApplied") int movesApplied,
+                          @JsonProperty("invalidMoveIndex") Integer invalidMoveIndex) {
+        this.validationResult = validationResult;
+        this.movesApplied = movesApplied;
+        this.invalidMoveIndex = invalidMoveIndex;
+    }
+
+    /**
+     * @return the result of the last move looked at, with the board after every valid move,
+     * or the result of the starting board if it is already finished or invalid
+     */
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
+    /**
+     * @return the number of moves that were applied to the board
+     */
+    public int getMovesApplied() {
+        return movesApplied;
+    }
+
+    /**
+     * @return the zero based index of the first invalid move or null if none of the moves looked at is invalid
+     */
+    public Integer getInvalidMoveIndex() {
+        return invalidMoveIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceResult{" +
+                "validationResult=" + validationResult +
+                ", movesApplied=" + movesApplied +
+                ", invalidMoveIndex=" + invalidMoveIndex +
+                '}';
+    }
+}
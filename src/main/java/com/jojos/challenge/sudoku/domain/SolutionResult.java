@@ -0,0 +1,52 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of solving a sudoku board. It contains the solved board or the initial board if there is no solution.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class SolutionResult {
+    private final short[][] board;
+    private final SolutionStatus solutionStatus;
+
+    @JsonCreator
+    private SolutionResult(@JsonProperty("board") short[][] board,
+                           @JsonProperty("solutionStatus") SolutionStatus solutionStatus) {
+        this.board = board;
+        this.solutionStatus = solutionStatus;
+    }
+
+    public static SolutionResult solved(short[][] board) {
+        return new SolutionResult(board, SolutionStatus.SOLVED);
+    }
+
+    public static SolutionResult noSolution(short[][] board) {
+        return new SolutionResult(board, SolutionStatus.NO_SOLUTION);
+    }
+
+    public short[][] getBoard() {
+        return board;
+    }
+
+    public SolutionStatus getSolutionStatus() {
+        return solutionStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "SolutionResult{" +
+                "board=" + Arrays.deepToString(board) +
+                ", solutionStatus=" + solutionStatus +
+                '}';
+    }
+
+    public enum SolutionStatus {
+        SOLVED,
+        NO_SOLUTION
+    }
+}
@@ -1,8 +1,10 @@
 package com.jojos.challenge.sudoku.domain;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.json.SudokuMoveJson;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
 
 import java.util.Arrays;
 
@@ -11,20 +13,22 @@ import java.util.Arrays;
  * and the point in the board
  * The number can take values from 0 to 9 (inclusive) with 0 representing the empty value
  * The Point includes two numbers which are zero based and thus they must be between 0-8 (inclusive).
+ * Boards of other sizes are accepted as well, see {@link BoardGeometry}, with the ranges of the number and the point
+ * following the size of the board, e.g. 0-16 and 0-15 for a 16x16 board.
  * Note that the {@link Point} object represents in a 2D array where rows comes first and columns second.
  *
  * Created by karanikasg@gmail.com.
  */
+@JsonSerialize(using = SudokuMoveJson.Serializer.class)
+@JsonDeserialize(using = SudokuMoveJson.Deserializer.class)
 public class SudokuMove {
     private final short[][] board;
     private final short number;
     private final Point point;
 
-    @JsonCreator
-    public SudokuMove(@JsonProperty("board") short[][] board,
-                      @JsonProperty("number") short number,
-                      @JsonProperty("point") Point point) throws ApplicationException {
-        checkValidValuesOrThrow(number, point);
+    public SudokuMove(short[][] board, short number, Point point) throws ApplicationException {
+        // the shape of the board itself is checked by the validator
+        Move.checkValidValuesOrThrow(number, point, board != null ? board.length : BoardGeometry.CLASSIC.getSize());
         this.board = board;
         this.number = number;
         this.point = point;
@@ -42,22 +46,6 @@ public class SudokuMove {
         return point;
     }
 
-    /**
-     * Validation for numbers and points ranges
-     * @param number must be between 0-9
-     * @param point each x, y of point must be between 1-9
-     * @throws ApplicationException if any of the two arguments are out of the permitted values
-     */
-    private void checkValidValuesOrThrow(int number, Point point) throws ApplicationException {
-        if (number < 0 || number > 9) {
-            throw new ApplicationException(String.format("Number %d is not between 0-9", number));
-        }
-        if (point.getRow() < 0 || point.getRow() > 8 ||
-                point.getColumn() < 0 || point.getColumn() > 8) {
-            throw new ApplicationException(String.format("Point values %s are not between 0-8", point));
-        }
-    }
-
     @Override
     public String toString() {
         return "SudokuMove{" +
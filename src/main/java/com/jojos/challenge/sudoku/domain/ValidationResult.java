@@ -1,7 +1,9 @@
 package com.jojos.challenge.sudoku.domain;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jojos.challenge.sudoku.domain.json.ValidationResultJson;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
 import com.jojos.challenge.sudoku.utils.SudokuUtils;
 
 import java.util.Arrays;
@@ -9,24 +11,34 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * The object that
+ * The outcome of validating a move on a board, as returned to the client: the board, whether it is valid,
+ * invalid or finished and whether that refers to the board before or after the move.
+ * <p>
+ * Why the board or the move is invalid is kept as structured {@link Conflict}s, the invalidity warnings are
+ * only rendered from them the first time they are asked for, which is when a client asks for them with the
+ * request, in any of the forms the result is written in.
  * <p>
  * Created by karanikasg@gmail.com.
  */
+@JsonSerialize(using = ValidationResultJson.Serializer.class)
+@JsonDeserialize(using = ValidationResultJson.Deserializer.class)
 public class ValidationResult {
     private final short[][] board;
     private final ValidationStatus validationStatus;
     private final State state;
-    private final List<String> invalidityWarnings;
-
-    @JsonCreator
-    private ValidationResult(@JsonProperty("board") short[][] board,
-                             @JsonProperty("validationStatus") ValidationStatus validationStatus,
-                             @JsonProperty("state") State state,
-                             @JsonProperty("invalidityWarnings") List<String> invalidityWarnings) {
+    private final List<Conflict> conflicts;
+    // rendered from the conflicts on first use unless given explicitly
+    private volatile List<String> invalidityWarnings;
+
+    private ValidationResult(short[][] board,
+                             ValidationStatus validationStatus,
+                             State state,
+                             List<Conflict> conflicts,
+                             List<String> invalidityWarnings) {
         this.board = board;
         this.validationStatus = validationStatus;
         this.state = state;
+        this.conflicts = conflicts;
         this.invalidityWarnings = invalidityWarnings;
     }
 
@@ -34,18 +46,21 @@ public class ValidationResult {
         this.board = builder.board;
         this.validationStatus = builder.validationStatus;
         this.state = builder.state;
+        this.conflicts = builder.conflicts;
         this.invalidityWarnings = builder.invalidityWarnings;
     }
 
     public static ValidationResult finished(short[][] board, State state) {
-        return new ValidationResult(board, ValidationStatus.FINISHED, state, Collections.emptyList());
+        return new ValidationResult(board, ValidationStatus.FINISHED, state,
+                Collections.emptyList(), Collections.emptyList());
     }
 
-    public static ValidationResult of(short[][] board, State state, List<String> invalidityWarnings) {
-        if (invalidityWarnings.isEmpty()) {
-            return new ValidationResult(board, ValidationStatus.VALID, state, Collections.emptyList());
+    public static ValidationResult of(short[][] board, State state, List<Conflict> conflicts) {
+        if (conflicts.isEmpty()) {
+            return new ValidationResult(board, ValidationStatus.VALID, state,
+                    Collections.emptyList(), Collections.emptyList());
         } else {
-            return new ValidationResult(board, ValidationStatus.INVALID, state, invalidityWarnings);
+            return new ValidationResult(board, ValidationStatus.INVALID, state, conflicts, null);
         }
     }
 
@@ -61,8 +76,21 @@ public class ValidationResult {
         return state;
     }
 
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * @return the messages of the conflicts, rendered the first time they are asked for
+     */
     public List<String> getInvalidityWarnings() {
-        return invalidityWarnings;
+        List<String> warnings = invalidityWarnings;
+        if (warnings == null && conflicts != null) {
+            BoardGeometry geometry = board == null ? null : BoardGeometry.ofSize(board.length);
+            warnings = Conflict.describe(conflicts, state, geometry == null ? BoardGeometry.CLASSIC : geometry);
+            invalidityWarnings = warnings;
+        }
+        return warnings;
     }
 
     @Override
@@ -71,7 +99,7 @@ public class ValidationResult {
                 "board=" + Arrays.deepToString(board) +
                 ", validationStatus=" + validationStatus +
                 ", state=" + state +
-                ", invalidityWarnings=" + invalidityWarnings +
+                ", conflicts=" + conflicts +
                 '}';
     }
 
@@ -90,7 +118,8 @@ public class ValidationResult {
         private short[][] board = SudokuUtils.getSudokuTable();
         private ValidationStatus validationStatus = ValidationStatus.VALID;
         private State state = State.BEFORE_MOVE;
-        private List<String> invalidityWarnings = Collections.emptyList();
+        private List<Conflict> conflicts = Collections.emptyList();
+        private List<String> invalidityWarnings;
 
         public ValidationResultBuilder board(short[][] board) {
             this.board = board;
@@ -107,6 +136,14 @@ public class ValidationResult {
             return this;
         }
 
+        public ValidationResultBuilder conflicts(List<Conflict> conflicts) {
+            this.conflicts = conflicts;
+            return this;
+        }
+
+        /**
+         * @param invalidityWarnings the warnings to report instead of rendering them from the conflicts
+         */
         public ValidationResultBuilder invalidityWarnings(List<String> invalidityWarnings) {
             this.invalidityWarnings = invalidityWarnings;
             return this;
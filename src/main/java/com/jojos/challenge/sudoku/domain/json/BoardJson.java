@@ -0,0 +1,95 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Difficulty;
+
+import java.io.IOException;
+
+/**
+ * Json form of a {@link Board}: {"values":[[...]],"difficulty":"...","score":N,"id":"..."} leaving out the fields that are null.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class BoardJson {
+
+    private static final SerializableString VALUES = new SerializedString("values");
+    private static final SerializableString DIFFICULTY = new SerializedString("difficulty");
+    private static final SerializableString SCORE = new SerializedString("score");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString[] DIFFICULTIES = JsonWriting.encode(Difficulty.class);
+
+    private BoardJson() {
+    }
+
+    public static final class Serializer extends StdSerializer<Board> {
+
+        public Serializer() {
+            super(Board.class);
+        }
+
+        @Override
+        public void serialize(Board board, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            short[][] values = board.getValues();
+            if (values != null) {
+                gen.writeFieldName(VALUES);
+                JsonWriting.writeCells(gen, values);
+            }
+            if (board.getDifficulty() != null) {
+                gen.writeFieldName(DIFFICULTY);
+                gen.writeString(DIFFICULTIES[board.getDifficulty().ordinal()]);
+            }
+            if (board.getScore() != null) {
+                gen.writeFieldName(SCORE);
+                gen.writeNumber(board.getScore());
+            }
+            if (board.getId() != null) {
+                gen.writeFieldName(ID);
+                gen.writeString(board.getId());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends SudokuDeserializer<Board> {
+
+        public Deserializer() {
+            super(Board.class);
+        }
+
+        @Override
+        public Board deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            short[][] values = null;
+            Difficulty difficulty = null;
+            Integer score = null;
+            String id = null;
+            for (String name = firstField(p, ctxt); name != null; name = nextField(p, ctxt)) {
+                switch (name) {
+                    case "values":
+                        values = readCells(p, ctxt);
+                        break;
+                    case "difficulty":
+                        difficulty = readEnum(p, ctxt, Difficulty.class);
+                        break;
+                    case "score":
+                        score = _parseInteger(p, ctxt);
+                        break;
+                    case "id":
+                        id = _parseString(p, ctxt);
+                        break;
+                    default:
+                        unknownField(name, p, ctxt);
+                }
+            }
+            return new Board(values, difficulty, score, id);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Point;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Json form of a {@link Conflict}:
+ * {"type":"...","value":N,"cell":{"row":N,"column":N},"conflictingCell":{"row":N,"column":N}}
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class ConflictJson {
+
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString VALUE = new SerializedString("value");
+    private static final SerializableString CELL = new SerializedString("cell");
+    private static final SerializableString CONFLICTING_CELL = new SerializedString("conflictingCell");
+    private static final SerializableString[] TYPES = JsonWriting.encode(Conflict.Type.class);
+
+    private ConflictJson() {
+    }
+
+    /**
+     * Write a conflict, or null, as part of another object without looking up its serializer
+     */
+    static void write(JsonGenerator gen, Conflict conflict) throws IOException {
+        if (conflict == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(TYPE);
+        if (conflict.getType() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(TYPES[conflict.getType().ordinal()]);
+        }
+        gen.writeFieldName(VALUE);
+        gen.writeNumber(conflict.getValue());
+        gen.writeFieldName(CELL);
+        PointJson.write(gen, conflict.getCell());
+        gen.writeFieldName(CONFLICTING_CELL);
+        PointJson.write(gen, conflict.getConflictingCell());
+        gen.writeEndObject();
+    }
+
+    public static final class Serializer extends StdSerializer<Conflict> {
+
+        public Serializer() {
+            super(Conflict.class);
+        }
+
+        @Override
+        public void serialize(Conflict conflict, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(gen, conflict);
+        }
+    }
+
+    public static final class Deserializer extends SudokuDeserializer<Conflict> {
+
+        private final PointJson.Deserializer points = new PointJson.Deserializer();
+
+        public Deserializer() {
+            super(Conflict.class);
+        }
+
+        @Override
+        public Conflict deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Conflict.Type type = null;
+            short value = 0;
+            Point cell = null;
+            Point conflictingCell = null;
+            for (String name = firstField(p, ctxt); name != null; name = nextField(p, ctxt)) {
+                switch (name) {
+                    case "type":
+                        type = readEnum(p, ctxt, Conflict.Type.class);
+                        break;
+                    case "value":
+                        value = _parseShortPrimitive(p, ctxt);
+                        break;
+                    case "cell":
+                        cell = points.read(p, ctxt);
+                        break;
+                    case "conflictingCell":
+                        conflictingCell = points.read(p, ctxt);
+                        break;
+                    default:
+                        unknownField(name, p, ctxt);
+                }
+            }
+            return new Conflict(type, value, cell, conflictingCell);
+        }
+
+        /**
+         * @return the conflicts of the array the parser is at as part of another object, or null
+         */
+        List<Conflict> readList(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.getCurrentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw ctxt.mappingException(List.class, token);
+            }
+            List<Conflict> conflicts = new ArrayList<>();
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                conflicts.add(token == JsonToken.VALUE_NULL ? null : deserialize(p, ctxt));
+            }
+            return conflicts;
+        }
+    }
+
+}
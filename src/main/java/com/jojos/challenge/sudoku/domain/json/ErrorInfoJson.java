@@ -0,0 +1,49 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jojos.challenge.sudoku.domain.ErrorInfo;
+
+import java.io.IOException;
+
+/**
+ * Json form of an {@link ErrorInfo}: {"status":N,"reason":"...","url":"...","message":"..."}.
+ * Error infos are only ever written, so there is no deserializer.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class ErrorInfoJson {
+
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString REASON = new SerializedString("reason");
+    private static final SerializableString URL = new SerializedString("url");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+
+    private ErrorInfoJson() {
+    }
+
+    public static final class Serializer extends StdSerializer<ErrorInfo> {
+
+        public Serializer() {
+            super(ErrorInfo.class);
+        }
+
+        @Override
+        public void serialize(ErrorInfo errorInfo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(STATUS);
+            gen.writeNumber(errorInfo.status);
+            gen.writeFieldName(REASON);
+            gen.writeString(errorInfo.reason);
+            gen.writeFieldName(URL);
+            gen.writeString(errorInfo.url);
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(errorInfo.message);
+            gen.writeEndObject();
+        }
+    }
+
+}
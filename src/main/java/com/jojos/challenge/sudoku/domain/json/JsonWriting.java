@@ -0,0 +1,55 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * Shared pieces of the hand-written serializers: field names and enum values are encoded once up front,
+ * so writing them is a copy of ready made bytes, and boards are written cell by cell straight to the generator.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+final class JsonWriting {
+
+    private JsonWriting() {
+    }
+
+    /**
+     * @return the pre-encoded names of the constants of the enum, indexed by ordinal
+     */
+    static <E extends Enum<E>> SerializableString[] encode(Class<E> enumClass) {
+        E[] constants = enumClass.getEnumConstants();
+        SerializableString[] encoded = new SerializableString[constants.length];
+        for (E constant : constants) {
+            encoded[constant.ordinal()] = new SerializedString(constant.name());
+        }
+        return encoded;
+    }
+
+    /**
+     * Write a board as an array of arrays of numbers, or null
+     */
+    static void writeCells(JsonGenerator gen, short[][] cells) throws IOException {
+        if (cells == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (short[] row : cells) {
+            if (row == null) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartArray();
+            for (short cell : row) {
+                gen.writeNumber(cell);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jojos.challenge.sudoku.domain.Point;
+
+import java.io.IOException;
+
+/**
+ * Json form of a {@link Point}: {"row":N,"column":N}
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class PointJson {
+
+    private static final SerializableString ROW = new SerializedString("row");
+    private static final SerializableString COLUMN = new SerializedString("column");
+
+    private PointJson() {
+    }
+
+    /**
+     * Write a point, or null, as part of another object without looking up its serializer
+     */
+    static void write(JsonGenerator gen, Point point) throws IOException {
+        if (point == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(ROW);
+        gen.writeNumber(point.getRow());
+        gen.writeFieldName(COLUMN);
+        gen.writeNumber(point.getColumn());
+        gen.writeEndObject();
+    }
+
+    public static final class Serializer extends StdSerializer<Point> {
+
+        public Serializer() {
+            super(Point.class);
+        }
+
+        @Override
+        public void serialize(Point point, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(gen, point);
+        }
+    }
+
+    public static final class Deserializer extends SudokuDeserializer<Point> {
+
+        public Deserializer() {
+            super(Point.class);
+        }
+
+        @Override
+        public Point deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            short row = 0;
+            short column = 0;
+            for (String name = firstField(p, ctxt); name != null; name = nextField(p, ctxt)) {
+                switch (name) {
+                    case "row":
+                        row = _parseShortPrimitive(p, ctxt);
+                        break;
+                    case "column":
+                        column = _parseShortPrimitive(p, ctxt);
+                        break;
+                    default:
+                        unknownField(name, p, ctxt);
+                }
+            }
+            return new Point(row, column);
+        }
+
+        /**
+         * @return the point the parser is at as part of another object, or null
+         */
+        Point read(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.getCurrentToken() == JsonToken.VALUE_NULL ? null : deserialize(p, ctxt);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base of the hand-written deserializers, reading the fields of an object one by one off the parser without any
+ * intermediate tree or bean introspection. Numbers are coerced by the same rules as Jackson's own deserializers
+ * and unknown fields are handled as configured on the mapper. Deserializers are shared, so they keep no state.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+abstract class SudokuDeserializer<T> extends StdDeserializer<T> {
+
+    SudokuDeserializer(Class<T> handledType) {
+        super(handledType);
+    }
+
+    /**
+     * Start reading the fields of an object
+     * @return the name of the first field with the parser at its value, or null if the object has no fields
+     */
+    String firstField(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        return fieldOrEnd(token == JsonToken.START_OBJECT ? p.nextToken() : token, p, ctxt);
+    }
+
+    /**
+     * @return the name of the next field with the parser at its value, or null at the end of the object
+     */
+    String nextField(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return fieldOrEnd(p.nextToken(), p, ctxt);
+    }
+
+    /**
+     * Skip the value of a field that is not one of the object, or fail if the mapper is configured to
+     */
+    void unknownField(String name, JsonParser p, DeserializationContext ctxt) throws IOException {
+        handleUnknownProperty(p, ctxt, handledType(), name);
+    }
+
+    private String fieldOrEnd(JsonToken token, JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        if (token != JsonToken.FIELD_NAME) {
+            throw ctxt.mappingException(handledType(), token);
+        }
+        String name = p.getCurrentName();
+        p.nextToken();
+        return name;
+    }
+
+    /**
+     * @return the failure of building an object from the fields read, as reported by Jackson for a failing creator
+     */
+    JsonMappingException instantiationFailed(RuntimeException exception) {
+        return new JsonMappingException("Instantiation of [simple type, class " + handledType().getName()
+                + "] value failed: " + exception.getMessage(), exception);
+    }
+
+    /**
+     * @return the board the parser is at, or null
+     */
+    short[][] readCells(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw ctxt.mappingException(short[][].class, token);
+        }
+        short[][] rows = new short[BoardGeometry.CLASSIC.getSize()][];
+        int count = 0;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = readRow(p, ctxt, token);
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    private short[] readRow(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw ctxt.mappingException(short[].class, token);
+        }
+        short[] cells = new short[BoardGeometry.CLASSIC.getSize()];
+        int count = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (count == cells.length) {
+                cells = Arrays.copyOf(cells, count * 2);
+            }
+            cells[count++] = _parseShortPrimitive(p, ctxt);
+        }
+        return count == cells.length ? cells : Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * @return the strings of the array the parser is at, or null
+     */
+    List<String> readStrings(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw ctxt.mappingException(List.class, token);
+        }
+        List<String> strings = new ArrayList<>();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            strings.add(token == JsonToken.VALUE_NULL ? null : _parseString(p, ctxt));
+        }
+        return strings;
+    }
+
+    /**
+     * @return the enum constant named by the value the parser is at, or null
+     */
+    <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt, Class<E> enumClass) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        E[] constants = enumClass.getEnumConstants();
+        if (token == JsonToken.VALUE_STRING) {
+            String name = p.getText();
+            for (E constant : constants) {
+                if (constant.name().equals(name)) {
+                    return constant;
+                }
+            }
+            throw ctxt.weirdStringException(name, enumClass,
+                    "value not one of declared Enum instance names: " + Arrays.toString(constants));
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            int ordinal = p.getIntValue();
+            if (ordinal >= 0 && ordinal < constants.length) {
+                return constants[ordinal];
+            }
+            throw ctxt.weirdNumberException(ordinal, enumClass,
+                    "index value outside legal index range [0.." + (constants.length - 1) + "]");
+        }
+        throw ctxt.mappingException(enumClass, token);
+    }
+
+}
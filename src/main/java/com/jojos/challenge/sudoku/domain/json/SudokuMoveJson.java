@@ -0,0 +1,84 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+
+import java.io.IOException;
+
+/**
+ * Json form of a {@link SudokuMove}: {"board":[[...]],"number":N,"point":{"row":N,"column":N}}
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class SudokuMoveJson {
+
+    private static final SerializableString BOARD = new SerializedString("board");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString POINT = new SerializedString("point");
+
+    private SudokuMoveJson() {
+    }
+
+    public static final class Serializer extends StdSerializer<SudokuMove> {
+
+        public Serializer() {
+            super(SudokuMove.class);
+        }
+
+        @Override
+        public void serialize(SudokuMove move, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(BOARD);
+            JsonWriting.writeCells(gen, move.getBoard());
+            gen.writeFieldName(NUMBER);
+            gen.writeNumber(move.getNumber());
+            gen.writeFieldName(POINT);
+            PointJson.write(gen, move.getPoint());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends SudokuDeserializer<SudokuMove> {
+
+        private final PointJson.Deserializer points = new PointJson.Deserializer();
+
+        public Deserializer() {
+            super(SudokuMove.class);
+        }
+
+        @Override
+        public SudokuMove deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            short[][] board = null;
+            short number = 0;
+            Point point = null;
+            for (String name = firstField(p, ctxt); name != null; name = nextField(p, ctxt)) {
+                switch (name) {
+                    case "board":
+                        board = readCells(p, ctxt);
+                        break;
+                    case "number":
+                        number = _parseShortPrimitive(p, ctxt);
+                        break;
+                    case "point":
+                        point = points.read(p, ctxt);
+                        break;
+                    default:
+                        unknownField(name, p, ctxt);
+                }
+            }
+            try {
+                return new SudokuMove(board, number, point);
+            } catch (RuntimeException e) {
+                throw instantiationFailed(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.jojos.challenge.sudoku.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * Json form of a {@link ValidationResult}:
+ * {"board":[[...]],"validationStatus":"...","state":"...","invalidityWarnings":["...",...],"conflicts":[{...},...]}
+ * where the conflicts are written as in {@link ConflictJson}. The invalidity warnings are rendered from the conflicts
+ * and written only when the {@link Warnings} view is active, otherwise the field is left out.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class ValidationResultJson {
+
+    private static final SerializableString BOARD = new SerializedString("board");
+    private static final SerializableString VALIDATION_STATUS = new SerializedString("validationStatus");
+    private static final SerializableString STATE = new SerializedString("state");
+    private static final SerializableString INVALIDITY_WARNINGS = new SerializedString("invalidityWarnings");
+    private static final SerializableString CONFLICTS = new SerializedString("conflicts");
+    private static final SerializableString[] VALIDATION_STATUSES = JsonWriting.encode(ValidationStatus.class);
+    private static final SerializableString[] STATES = JsonWriting.encode(State.class);
+
+    private ValidationResultJson() {
+    }
+
+    /**
+     * The view to write a validation result with its invalidity warnings
+     */
+    public static final class Warnings {
+        private Warnings() {
+        }
+    }
+
+    public static final class Serializer extends StdSerializer<ValidationResult> {
+
+        public Serializer() {
+            super(ValidationResult.class);
+        }
+
+        @Override
+        public void serialize(ValidationResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(BOARD);
+            JsonWriting.writeCells(gen, result.getBoard());
+            gen.writeFieldName(VALIDATION_STATUS);
+            if (result.getValidationStatus() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(VALIDATION_STATUSES[result.getValidationStatus().ordinal()]);
+            }
+            gen.writeFieldName(STATE);
+            if (result.getState() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(STATES[result.getState().ordinal()]);
+            }
+            Class<?> view = provider.getActiveView();
+            if (view != null && Warnings.class.isAssignableFrom(view)) {
+                writeWarnings(gen, result.getInvalidityWarnings());
+            }
+            gen.writeFieldName(CONFLICTS);
+            List<Conflict> conflicts = result.getConflicts();
+            if (conflicts == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray();
+                for (Conflict conflict : conflicts) {
+                    ConflictJson.write(gen, conflict);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeWarnings(JsonGenerator gen, List<String> warnings) throws IOException {
+            gen.writeFieldName(INVALIDITY_WARNINGS);
+            if (warnings == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray();
+                for (String warning : warnings) {
+                    gen.writeString(warning);
+                }
+                gen.writeEndArray();
+            }
+        }
+    }
+
+    public static final class Deserializer extends SudokuDeserializer<ValidationResult> {
+
+        private final ConflictJson.Deserializer conflicts = new ConflictJson.Deserializer();
+
+        public Deserializer() {
+            super(ValidationResult.class);
+        }
+
+        @Override
+        public ValidationResult deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            ValidationResult.ValidationResultBuilder builder = new ValidationResult.ValidationResultBuilder()
+                    .board(null)
+                    .validationStatus(null)
+                    .state(null)
+                    .conflicts(null)
+                    .invalidityWarnings(null);
+            for (String name = firstField(p, ctxt); name != null; name = nextField(p, ctxt)) {
+                switch (name) {
+                    case "board":
+                        builder.board(readCells(p, ctxt));
+                        break;
+                    case "validationStatus":
+                        builder.validationStatus(readEnum(p, ctxt, ValidationStatus.class));
+                        break;
+                    case "state":
+                        builder.state(readEnum(p, ctxt, State.class));
+                        break;
+                    case "invalidityWarnings":
+                        builder.invalidityWarnings(readStrings(p, ctxt));
+                        break;
+                    case "conflicts":
+                        builder.conflicts(conflicts.readList(p, ctxt));
+                        break;
+                    default:
+                        unknownField(name, p, ctxt);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.jojos.challenge.sudoku.journal;
+
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * A single fixed size entry of the move journal.
+ * Every record takes {@link #SIZE} bytes laid out as
+ * <pre>
+ *  0  type               1 byte, 0 marks the unused tail of a journal file
+ *  1  timestamp          8 bytes, milliseconds since the epoch
+ *  9  game id            16 bytes, the uuid of the game or zeros for a move that was validated without a game
+ * 25  board              41 bytes, packed as in {@link BoardCodec#pack}
+ * 66  number             1 byte
+ * 67  point              1 byte, row << 4 | column
+ * 68  status and state   1 byte, ordinal of the status << 1 | ordinal of the state
+ * 69  reserved           3 bytes
+ * </pre>
+ * A {@link Type#MOVE} record has the board after the move, a {@link Type#GAME_CREATED} record the initial board
+ * of the game and zeros for the move and the result.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class JournalRecord {
+
+    public static final int SIZE = 72;
+
+    private final Type type;
+    private final long timestamp;
+    private final UUID gameId;
+    private final short[][] board;
+    private final short number;
+    private final Point point;
+    private final ValidationStatus validationStatus;
+    private final State state;
+
+    private JournalRecord(Type type, long timestamp, UUID gameId, short[][] board, short number, Point point,
+                          ValidationStatus validationStatus, State state) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.gameId = gameId;
+        this.board = board;
+        this.number = number;
+        this.point = point;
+        this.validationStatus = validationStatus;
+        this.state = state;
+    }
+
+    /**
+     * @param gameId the id of the game or null for a move that was validated without a game
+     * @return the encoded form of a move record
+     */
+    static byte[] encodeMove(long timestamp, String gameId, short[][] board, short number, Point point,
+                             ValidationStatus validationStatus, State state) {
+        byte[] record = encode(Type.MOVE, timestamp, gameId, board);
+        record[66] = (byte) number;
+        record[67] = (byte) (point.getRow() << 4 | point.getColumn());
+        record[68] = (byte) (validationStatus.ordinal() << 1 | state.ordinal());
+        return record;
+    }
+
+    /**
+     * @return the encoded form of a game creation record
+     */
+    static byte[] encodeGameCreated(long timestamp, String gameId, short[][] board) {
+        return encode(Type.GAME_CREATED, timestamp, gameId, board);
+    }
+
+    private static byte[] encode(Type type, long timestamp, String gameId, short[][] board) {
+        byte[] record = new byte[SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.put((byte) type.code);
+        buffer.putLong(timestamp);
+        if (gameId != null) {
+            UUID uuid = UUID.fromString(gameId);
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+        }
+        BoardCodec.pack(board, record, 25);
+        return record;
+    }
+
+    /**
+     * Read the record at the current position of the buffer, moving the position past it.
+     * @return the record or null if the buffer has no more records
+     */
+    static JournalRecord read(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE || buffer.get(buffer.position()) == 0) {
+            return null;
+        }
+        Type type = Type.of(buffer.get());
+        long timestamp = buffer.getLong();
+        long most = buffer.getLong();
+        long least = buffer.getLong();
+        byte[] packed = new byte[BoardCodec.PACKED_SIZE];
+        buffer.get(packed);
+        short number = buffer.get();
+        int point = buffer.get() & 0xFF;
+        int result = buffer.get();
+        buffer.position(buffer.position() + 3);
+
+        UUID gameId = most == 0 && least == 0 ? null : new UUID(most, least);
+        short[][] board = BoardCodec.unpack(packed, 0);
+        if (type == Type.GAME_CREATED) {
+            return new JournalRecord(type, timestamp, gameId, board, (short) 0, null, null, null);
+        }
+        return new JournalRecord(type, timestamp, gameId, board, number,
+                new Point((short) (point >> 4), (short) (point & 0xF)),
+                ValidationStatus.values()[result >> 1], State.values()[result & 1]);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the id of the game or null for a move that was validated without a game
+     */
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public short[][] getBoard() {
+        return board;
+    }
+
+    public short getNumber() {
+        return number;
+    }
+
+    public Point getPoint() {
+        return point;
+    }
+
+    public ValidationStatus getValidationStatus() {
+        return validationStatus;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public enum Type {
+        MOVE(1),
+        GAME_CREATED(2);
+
+        private final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        private static Type of(int code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalStateException(String.format("Unknown journal record type %d", code));
+        }
+    }
+
+}
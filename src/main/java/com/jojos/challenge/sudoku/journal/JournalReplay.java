@@ -0,0 +1,109 @@
+package com.jojos.challenge.sudoku.journal;
+
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * Reads the move journal back and rebuilds the history of every game from it.
+ * Runs on its own, without the rest of the application:
+ * <pre>
+ * java -cp target/classes com.jojos.challenge.sudoku.journal.JournalReplay &lt;journal dir&gt; [game id]
+ * </pre>
+ * Every game is printed with its initial board followed by its moves in the order they were made, every move with
+ * its status and the board after it. Moves validated without a game are only counted by their status.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class JournalReplay {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: JournalReplay <journal dir> [game id]");
+            System.exit(1);
+        }
+        UUID gameId = args.length == 2 ? UUID.fromString(args[1]) : null;
+        replay(Paths.get(args[0]), gameId, System.out);
+    }
+
+    /**
+     * @param directory the directory of the journal files
+     * @param gameId the only game to print or null to print every game
+     * @param out where to print the histories
+     */
+    static void replay(Path directory, UUID gameId, PrintStream out) throws IOException {
+        Map<UUID, List<JournalRecord>> games = new LinkedHashMap<>();
+        Map<ValidationStatus, Long> withoutGame = new EnumMap<>(ValidationStatus.class);
+        read(directory, record -> {
+            if (record.getGameId() != null) {
+                games.computeIfAbsent(record.getGameId(), id -> new ArrayList<>()).add(record);
+            } else {
+                withoutGame.merge(record.getValidationStatus(), 1L, Long::sum);
+            }
+        });
+
+        for (Map.Entry<UUID, List<JournalRecord>> game : games.entrySet()) {
+            if (gameId == null || gameId.equals(game.getKey())) {
+                printGame(game.getKey(), game.getValue(), out);
+            }
+        }
+        if (gameId == null) {
+            out.printf("%d games, moves without a game %s%n", games.size(), withoutGame);
+        }
+    }
+
+    /**
+     * Read every record of the journal in the order it was written.
+     * @param directory the directory of the journal files
+     * @param consumer what to do with every record
+     */
+    static void read(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                MoveJournal.FILE_PREFIX + "*" + MoveJournal.FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                JournalRecord record;
+                while ((record = JournalRecord.read(buffer)) != null) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    private static void printGame(UUID id, List<JournalRecord> records, PrintStream out) {
+        out.printf("Game %s%n", id);
+        for (JournalRecord record : records) {
+            String board = BoardCodec.toText(record.getBoard());
+            if (record.getType() == JournalRecord.Type.GAME_CREATED) {
+                out.printf("  %s created %s%n", Instant.ofEpochMilli(record.getTimestamp()), board);
+            } else {
+                out.printf("  %s %d at (%d, %d) %s %s%n", Instant.ofEpochMilli(record.getTimestamp()),
+                        record.getNumber(), record.getPoint().getRow(), record.getPoint().getColumn(),
+                        record.getValidationStatus(), board);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.jojos.challenge.sudoku.journal;
+
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The audit trail of every validated move.
+ * Request threads only encode a {@link JournalRecord} and hand it off through a lock-free queue, a single writer thread
+ * appends the records to memory-mapped journal files, rolling over to a new file whenever the current one is full.
+ * The writer sleeps while the queue is empty and is woken up by the next record handed off.
+ * A new file is started on every start of the service, the files sort by name in the order they were written.
+ * When the writer falls behind by more than the configured capacity, records are dropped and counted instead of
+ * slowing the requests down. Use {@link JournalReplay} to read the journal back.
+ * Records are fixed size and only have room for a 9x9 board, moves on boards of other sizes are not journaled.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class MoveJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(MoveJournal.class);
+
+    static final String FILE_PREFIX = "moves-";
+    static final String FILE_SUFFIX = ".journal";
+
+    private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long fileSize;
+    private final int capacity;
+    private final SudokuMetrics metrics;
+
+    private volatile boolean running;
+    // set by the writer while it waits for the queue to get a record, only then do the request threads wake it up
+    private volatile boolean idle;
+    private Thread writer;
+
+    // only touched by the writer thread
+    private MappedByteBuffer buffer;
+    private int fileSequence;
+
+    @Autowired
+    public MoveJournal(@Value("${sudoku.journal.enabled}") boolean enabled,
+                       @Value("${sudoku.journal.dir}") String directory,
+                       @Value("${sudoku.journal.file-size}") long fileSize,
+                       @Value("${sudoku.journal.capacity}") int capacity,
+                       SudokuMetrics metrics) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        // whole records only, so that a record never spans two files
+        this.fileSize = Math.max(1, fileSize / JournalRecord.SIZE) * JournalRecord.SIZE;
+        this.capacity = capacity;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            log.info("Move journal is disabled");
+            return;
+        }
+        Files.createDirectories(directory);
+        fileSequence = lastFileSequence(directory);
+        running = true;
+        writer = new Thread(this::write, "move-journal");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Journaling moves to {}", directory.toAbsolutePath());
+    }
+
+    /**
+     * Stop the writer once every record that was already handed off has been written.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+        writer = null;
+    }
+
+    /**
+     * Journal a validated move.
+     * @param gameId the id of the game the move was made on or null if it was validated without a game
+     * @param number the number of the move
+     * @param point the point of the move
+     * @param validationResult the result of the validation
+     */
+    public void recordMove(String gameId, short number, Point point, ValidationResult validationResult) {
+        if (running && BoardCodec.isClassic(validationResult.getBoard())) {
+            offer(JournalRecord.encodeMove(System.currentTimeMillis(), gameId, validationResult.getBoard(), number, point,
+                    validationResult.getValidationStatus(), validationResult.getState()));
+        }
+    }
+
+    /**
+     * Journal the creation of a game.
+     * @param gameId the id of the new game
+     * @param board the initial board of the game
+     */
+    public void recordGameCreated(String gameId, short[][] board) {
+        if (running && BoardCodec.isClassic(board)) {
+            offer(JournalRecord.encodeGameCreated(System.currentTimeMillis(), gameId, board));
+        }
+    }
+
+    private void offer(byte[] record) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            metrics.recordJournalDrop();
+            return;
+        }
+        queue.offer(record);
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                byte[] record = queue.poll();
+                if (record == null) {
+                    if (!running) {
+                        break;
+                    }
+                    idle = true;
+                    // a record offered after the poll is either seen here or wakes the writer up
+                    if (queue.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                    continue;
+                }
+                pending.decrementAndGet();
+                if (buffer == null || buffer.remaining() < JournalRecord.SIZE) {
+                    roll();
+                }
+                // the type goes in last, a reader never sees a record that is only partly written
+                int position = buffer.position();
+                buffer.position(position + 1);
+                buffer.put(record, 1, JournalRecord.SIZE - 1);
+                buffer.put(position, record[0]);
+            }
+            if (buffer != null) {
+                buffer.force();
+            }
+        } catch (IOException e) {
+            running = false;
+            log.error("Move journal failed, no more moves will be journaled", e);
+        }
+    }
+
+    private void roll() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        Path file = directory.resolve(fileName(++fileSequence));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        }
+        log.debug("Rolled move journal over to {}", file);
+    }
+
+    static String fileName(int sequence) {
+        return String.format("%s%09d%s", FILE_PREFIX, sequence, FILE_SUFFIX);
+    }
+
+    private static int lastFileSequence(Path directory) throws IOException {
+        int last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    last = Math.max(last, Integer.parseInt(
+                            name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected journal file {}", file);
+                }
+            }
+        }
+        return last;
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.jojos.challenge.sudoku.lite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jojos.challenge.sudoku.control.ServiceUnavailableException;
+import com.jojos.challenge.sudoku.control.WarningsAdvice;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Difficulty;
+import com.jojos.challenge.sudoku.domain.ErrorInfo;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.service.BitmaskValidator;
+import com.jojos.challenge.sudoku.service.DefaultValidator;
+import com.jojos.challenge.sudoku.service.DifficultyRater;
+import com.jojos.challenge.sudoku.service.PuzzleGenerator;
+import com.jojos.challenge.sudoku.service.PuzzlePool;
+import com.jojos.challenge.sudoku.service.Validator;
+import com.jojos.challenge.sudoku.utils.Footprint;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves GET /sudoku/table and PUT /sudoku/validate, with the same requests, responses and errors as the
+ * {@link com.jojos.challenge.sudoku.control.Controller}, on the HTTP server of the JDK and without any spring context,
+ * so that it is ready to serve in a fraction of the time and memory:
+ * <pre>
+ * java -jar target/sudoku-rest-1.0-SNAPSHOT.jar lite [--server.port=8080] [--sudoku.pool.capacity=250] ...
+ * </pre>
+ * The services are built by hand from the same properties, application.properties overridden by the arguments.
+ * Only json is served and nothing is counted or journaled. The time it took to start and the memory it holds are logged
+ * once it is ready, as the spring mode does, see {@link Footprint}.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class LiteServer {
+
+    private static final Logger log = LoggerFactory.getLogger(LiteServer.class);
+
+    /**
+     * The first argument of the application that runs it in this mode
+     */
+    public static final String COMMAND = "lite";
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    // configured as the spring mode is, see application.properties
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().defaultViewInclusion(true).build();
+    private final Validator validator;
+    private final PuzzlePool puzzlePool;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        LiteServer liteServer = new LiteServer(properties(args));
+        liteServer.start();
+        log.info("Started LiteServer in {} ms, {}", (System.nanoTime() - start) / 1_000_000, Footprint.describe());
+    }
+
+    /**
+     * @param properties the same properties the spring mode is configured with
+     */
+    LiteServer(Properties properties) throws IOException {
+        this.validator = "bitmask".equals(properties.getProperty("sudoku.validator.engine"))
+                ? new BitmaskValidator() : new DefaultValidator().threadSafe();
+        this.puzzlePool = new PuzzlePool(new PuzzleGenerator(), new DifficultyRater(),
+                Integer.parseInt(properties.getProperty("sudoku.pool.capacity")),
+                Integer.parseInt(properties.getProperty("sudoku.pool.workers")));
+
+        int port = Integer.parseInt(properties.getProperty("server.port", "8080"));
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        AtomicInteger threadCount = new AtomicInteger();
+        // as many threads as the tomcat of the spring mode
+        this.executor = Executors.newFixedThreadPool(Integer.parseInt(properties.getProperty("server.tomcat.max-threads", "200")),
+                runnable -> new Thread(runnable, "lite-" + threadCount.incrementAndGet()));
+        server.setExecutor(executor);
+        server.createContext("/sudoku/table", exchange -> handle(exchange, "GET", this::table));
+        server.createContext("/sudoku/validate", exchange -> handle(exchange, "PUT", this::validate));
+    }
+
+    void start() {
+        puzzlePool.start();
+        server.start();
+        log.info("Serving on port {}", getPort());
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+        puzzlePool.stop();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private Board table(HttpExchange exchange) {
+        String difficulty = parameter(exchange, "difficulty");
+        // an empty parameter is no parameter, as spring converts it
+        if (difficulty == null || difficulty.trim().isEmpty()) {
+            return puzzlePool.take();
+        }
+        return puzzlePool.take(Difficulty.valueOf(difficulty.trim()));
+    }
+
+    private Object validate(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return validator.validateSudokuMove(objectMapper.readValue(in, SudokuMove.class));
+        }
+    }
+
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        HttpStatus status = HttpStatus.OK;
+        Object body;
+        try {
+            // contexts match any path under them, the mappings of the controller only the exact path
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                status = HttpStatus.NOT_FOUND;
+                body = error(exchange, status, new IllegalArgumentException("No mapping for " + exchange.getRequestURI().getPath()));
+            } else if (!method.equals(exchange.getRequestMethod())) {
+                status = HttpStatus.METHOD_NOT_ALLOWED;
+                body = error(exchange, status, new IllegalArgumentException(
+                        String.format("Request method '%s' not supported", exchange.getRequestMethod())));
+            } else {
+                body = handler.handle(exchange);
+            }
+        } catch (ServiceUnavailableException e) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            body = error(exchange, status, e);
+            log.warn("Service unavailable, returning error {}", body);
+        } catch (Exception e) {
+            status = HttpStatus.BAD_REQUEST;
+            body = error(exchange, status, e);
+            log.error("Handling exception and returning error {}", body);
+        }
+
+        try {
+            byte[] bytes = objectMapper.writerWithView(WarningsAdvice.viewOf(parameter(exchange, WarningsAdvice.PARAMETER)))
+                    .writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(status.value(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static ErrorInfo error(HttpExchange exchange, HttpStatus status, Exception exception) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null) {
+            host = exchange.getLocalAddress().getHostString() + ":" + exchange.getLocalAddress().getPort();
+        }
+        return new ErrorInfo(status, "http://" + host + exchange.getRequestURI().getPath(), exception);
+    }
+
+    /**
+     * @return the first value of the query parameter or null if there is none
+     */
+    private static String parameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            if (name.equals(key)) {
+                try {
+                    return equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8.name());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return application.properties overridden by every --name=value argument
+     */
+    static Properties properties(String[] args) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LiteServer.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException(String.format("Argument %s is not of the form --name=value", arg));
+            }
+            properties.setProperty(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return properties;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(HttpExchange exchange) throws IOException;
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.jojos.challenge.sudoku.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations with fixed bucket bounds, in the shape of a Prometheus histogram.
+ * Every bucket is a striped {@link LongAdder}, so recording never takes a lock and concurrent recordings
+ * hardly contend, the buckets are only added up when the histogram is rendered.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public class Histogram {
+
+    // bucket bounds in seconds for whole requests
+    static final double[] REQUEST_BOUNDS = {0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5};
+
+    // bucket bounds in seconds for work that is done within a request
+    static final double[] PHASE_BOUNDS = {0.000001, 0.0000025, 0.000005, 0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001};
+
+    private final double[] bounds;
+    private final long[] boundsNanos;
+    // one more bucket than bounds for the values above the last bound
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram(double[] bounds) {
+        this.bounds = bounds;
+        this.boundsNanos = new long[bounds.length];
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            boundsNanos[i] = (long) (bounds[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+            ++bucket;
+        }
+        buckets[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Append the buckets, sum and count of this histogram in the Prometheus text format.
+     * @param out where to append to
+     * @param name the name of the metric
+     * @param labels the labels of this histogram, e.g. {@code method="GET"}, or an empty string for none
+     */
+    void render(StringBuilder out, String name, String labels) {
+        String separator = labels.isEmpty() ? "" : ",";
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{").append(labels).append(separator)
+                    .append("le=\"").append(bounds[i]).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += buckets[bounds.length].sum();
+        out.append(name).append("_bucket{").append(labels).append(separator)
+                .append("le=\"+Inf\"} ").append(cumulative).append('\n');
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ')
+                .append(sumNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1)).append('\n');
+        out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+    }
+
+}
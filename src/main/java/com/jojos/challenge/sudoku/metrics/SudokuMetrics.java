@@ -0,0 +1,200 @@
+package com.jojos.challenge.sudoku.metrics;
+
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * The operational metrics of our service, rendered in the Prometheus text format.
+ * Recording is lock-free: counters and histogram buckets are striped {@link LongAdder}s, found by their labels
+ * as they are given, the interned uri patterns, the status codes and the exception classes, without building any
+ * string. The maps are read with get first, since computeIfAbsent of Java 8 locks even when the key is there,
+ * so they only take a lock the first time a new label combination shows up. The labels are rendered on scraping.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class SudokuMetrics {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // every status code has its slot, beyond the last one they are counted in the last
+    private static final int STATUSES = 600;
+
+    // by uri pattern, method and status
+    private final ConcurrentMap<String, ConcurrentMap<String, AtomicReferenceArray<Histogram>>> requests =
+            new ConcurrentHashMap<>();
+    // by the type of the exception and the type of its original cause
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, LongAdder>> errors = new ConcurrentHashMap<>();
+    private final LongAdder[][] validations = new LongAdder[ValidationStatus.values().length][State.values().length];
+    private final Histogram[] phases = new Histogram[Phase.values().length];
+    private final LongAdder journalDrops = new LongAdder();
+    private final LongAdder[] cacheLookups = new LongAdder[CacheOutcome.values().length];
+
+    public SudokuMetrics() {
+        for (LongAdder[] byState : validations) {
+            for (int i = 0; i < byState.length; i++) {
+                byState[i] = new LongAdder();
+            }
+        }
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new Histogram(Histogram.PHASE_BOUNDS);
+        }
+        for (int i = 0; i < cacheLookups.length; i++) {
+            cacheLookups[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param method the http method of the request
+     * @param uri the pattern of the endpoint that handled the request, not the actual uri, to keep the labels bounded
+     * @param status the http status of the response
+     * @param nanos how long the request took
+     */
+    public void recordRequest(String method, String uri, int status, long nanos) {
+        AtomicReferenceArray<Histogram> byStatus = get(get(requests, uri, key -> new ConcurrentHashMap<>()), method,
+                key -> new AtomicReferenceArray<>(STATUSES));
+        int index = Math.max(0, Math.min(status, STATUSES - 1));
+        Histogram histogram = byStatus.get(index);
+        if (histogram == null) {
+            byStatus.compareAndSet(index, null, new Histogram(Histogram.REQUEST_BOUNDS));
+            histogram = byStatus.get(index);
+        }
+        histogram.record(nanos);
+    }
+
+    public void recordValidation(ValidationResult validationResult) {
+        validations[validationResult.getValidationStatus().ordinal()][validationResult.getState().ordinal()].increment();
+    }
+
+    /**
+     * Count a handled exception by its own type and by the type of the exception that originally caused it.
+     */
+    public void recordError(Throwable exception) {
+        Throwable cause = exception;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        get(get(errors, exception.getClass(), key -> new ConcurrentHashMap<>()), cause.getClass(), key -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * @return the value of the key, created the first time only
+     */
+    private static <K, V> V get(ConcurrentMap<K, V> map, K key, Function<K, V> factory) {
+        V value = map.get(key);
+        return value != null ? value : map.computeIfAbsent(key, factory);
+    }
+
+    public void recordPhase(Phase phase, long nanos) {
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Count a move that was not journaled because the journal writer fell behind.
+     */
+    public void recordJournalDrop() {
+        journalDrops.increment();
+    }
+
+    public void recordCacheLookup(CacheOutcome outcome) {
+        cacheLookups[outcome.ordinal()].increment();
+    }
+
+    /**
+     * @return all metrics in the Prometheus text format
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        out.append("# HELP sudoku_http_request_duration_seconds Latency of the requests by endpoint\n");
+        out.append("# TYPE sudoku_http_request_duration_seconds histogram\n");
+        for (Map.Entry<String, ConcurrentMap<String, AtomicReferenceArray<Histogram>>> uri : requests.entrySet()) {
+            for (Map.Entry<String, AtomicReferenceArray<Histogram>> method : uri.getValue().entrySet()) {
+                for (int status = 0; status < STATUSES; status++) {
+                    Histogram histogram = method.getValue().get(status);
+                    if (histogram != null) {
+                        histogram.render(out, "sudoku_http_request_duration_seconds", "method=\"" + method.getKey()
+                                + "\",uri=\"" + uri.getKey() + "\",status=\"" + status + "\"");
+                    }
+                }
+            }
+        }
+
+        out.append("# HELP sudoku_validations_total Validation results by status and state\n");
+        out.append("# TYPE sudoku_validations_total counter\n");
+        for (ValidationStatus status : ValidationStatus.values()) {
+            for (State state : State.values()) {
+                out.append("sudoku_validations_total{status=\"").append(status)
+                        .append("\",state=\"").append(state).append("\"} ")
+                        .append(validations[status.ordinal()][state.ordinal()].sum()).append('\n');
+            }
+        }
+
+        out.append("# HELP sudoku_errors_total Handled exceptions by type and original cause\n");
+        out.append("# TYPE sudoku_errors_total counter\n");
+        for (Map.Entry<Class<?>, ConcurrentMap<Class<?>, LongAdder>> exception : errors.entrySet()) {
+            for (Map.Entry<Class<?>, LongAdder> cause : exception.getValue().entrySet()) {
+                out.append("sudoku_errors_total{exception=\"").append(exception.getKey().getSimpleName())
+                        .append("\",cause=\"").append(cause.getKey().getSimpleName()).append("\"} ")
+                        .append(cause.getValue().sum()).append('\n');
+            }
+        }
+
+        out.append("# HELP sudoku_validator_phase_duration_seconds Time spent in every phase of a validation\n");
+        out.append("# TYPE sudoku_validator_phase_duration_seconds histogram\n");
+        for (Phase phase : Phase.values()) {
+            phases[phase.ordinal()].render(out, "sudoku_validator_phase_duration_seconds",
+                    "phase=\"" + phase.label + "\"");
+        }
+
+        out.append("# HELP sudoku_journal_dropped_total Moves that were not journaled because the writer fell behind\n");
+        out.append("# TYPE sudoku_journal_dropped_total counter\n");
+        out.append("sudoku_journal_dropped_total ").append(journalDrops.sum()).append('\n');
+
+        out.append("# HELP sudoku_solution_cache_lookups_total Lookups of the solution cache by outcome\n");
+        out.append("# TYPE sudoku_solution_cache_lookups_total counter\n");
+        for (CacheOutcome outcome : CacheOutcome.values()) {
+            out.append("sudoku_solution_cache_lookups_total{outcome=\"").append(outcome.label).append("\"} ")
+                    .append(cacheLookups[outcome.ordinal()].sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    public enum Phase {
+        // resolving the occupancy of the board and checking it for duplicates
+        RESOLVE("resolve"),
+        // checking and applying the move itself
+        MOVE("move");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    public enum CacheOutcome {
+        HIT("hit"),
+        MISS("miss"),
+        // the board couldn't be canonicalized so the cache was not looked at
+        BYPASS("bypass");
+
+        private final String label;
+
+        CacheOutcome(String label) {
+            this.label = label;
+        }
+    }
+
+}
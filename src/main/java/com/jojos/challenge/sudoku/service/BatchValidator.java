@@ -0,0 +1,118 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Validates a batch of independent moves in parallel on a pool of its own sized to the available cores.
+ * The results keep the order of the moves. The boards of the moves are resolved {@link BitSlicedKernel#LANES}
+ * at a time by the {@link BitSlicedKernel}, giving the same results as the validator would. The time the kernel
+ * spends is recorded under the same validator phases, so every move of a batch is measured once, as if the
+ * validator had validated it.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Service
+public class BatchValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchValidator.class);
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final int maxBatchSize;
+
+    @Autowired(required = false)
+    SudokuMetrics metrics;
+
+    @Autowired
+    public BatchValidator(@Value("${sudoku.validate.batch.max-size}") int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param sudokuMoves the independent moves to validate, each one on its own board
+     * @param validator the validator to use, must be safe to call concurrently see {@link Validator#threadSafe()}
+     * @return the validation results in the same order as the moves
+     * @throws ApplicationException if the batch is larger than allowed or any of the moves can't be validated
+     */
+    public List<ValidationResult> validateAll(List<SudokuMove> sudokuMoves, Validator validator) throws ApplicationException {
+        if (sudokuMoves.size() > maxBatchSize) {
+            throw new ApplicationException(String.format("Batch of %d moves exceeds the maximum of %d",
+                    sudokuMoves.size(), maxBatchSize));
+        }
+        log.debug("Validating a batch of {} moves", sudokuMoves.size());
+
+        int groups = (sudokuMoves.size() + BitSlicedKernel.LANES - 1) / BitSlicedKernel.LANES;
+        try {
+            return pool.submit(() -> IntStream.range(0, groups).parallel()
+                    .mapToObj(group -> validateGroup(sudokuMoves, group * BitSlicedKernel.LANES, validator))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("Interrupted while validating a batch of moves");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApplicationException) {
+                throw (ApplicationException) e.getCause();
+            }
+            throw new ApplicationException("Failed to validate a batch of moves: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Validate up to {@link BitSlicedKernel#LANES} moves, resolving their boards all at once.
+     * Only the moves on boards found valid are validated by the kernel, the rest, and moves of the number 0 which
+     * the engines answer in the same way, go to the validator as before.
+     * @param from the index of the first move of the group
+     * @return the validation results of the group in the same order as the moves
+     */
+    private List<ValidationResult> validateGroup(List<SudokuMove> sudokuMoves, int from, Validator validator) {
+        int count = Math.min(BitSlicedKernel.LANES, sudokuMoves.size() - from);
+        short[][][] boards = new short[count][][];
+        for (int lane = 0; lane < count; lane++) {
+            boards[lane] = sudokuMoves.get(from + lane).getBoard();
+        }
+        long start = System.nanoTime();
+        BitSlicedKernel.Verdicts verdicts = BitSlicedKernel.validate(boards, 0, count);
+        // the boards are resolved together, every one of them is recorded with its share of the time
+        long resolvedShare = (System.nanoTime() - start) / count;
+        List<ValidationResult> validationResults = new ArrayList<>(count);
+        for (int lane = 0; lane < count; lane++) {
+            SudokuMove sudokuMove = sudokuMoves.get(from + lane);
+            if (verdicts.statusOf(lane) == ValidationResult.ValidationStatus.VALID && sudokuMove.getNumber() != 0) {
+                long moveStart = System.nanoTime();
+                validationResults.add(BitSlicedKernel.applyMove(boards[lane], sudokuMove.getNumber(), sudokuMove.getPoint()));
+                if (metrics != null) {
+                    metrics.recordPhase(SudokuMetrics.Phase.RESOLVE, resolvedShare);
+                    metrics.recordPhase(SudokuMetrics.Phase.MOVE, System.nanoTime() - moveStart);
+                }
+            } else {
+                // the validator records its own phases
+                validationResults.add(validator.validateSudokuMove(sudokuMove));
+            }
+        }
+        return validationResults;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+}
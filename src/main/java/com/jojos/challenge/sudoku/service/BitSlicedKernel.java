@@ -0,0 +1,238 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * Validates up to 64 classic boards at once, for the workloads that validate many boards in one go.
+ * The boards are laid out bit-sliced: for every cell and number there is a long whose bit (lane) b is set if board b
+ * has that number at that cell. A number found twice in a row, column or square is then a couple of bitwise
+ * operations on those longs for all 64 boards together.
+ * <p>
+ * The verdicts are the same as {@link DefaultValidator#resolveAndValidateSecondaryArrays(short[][])} and
+ * {@link BoardOccupancy#resolve(short[][], List)} give, FINISHED included: a board counts as finished when every
+ * square holds every number once, whatever its rows and columns, since they count the numbers that are unique within
+ * their square. Only the verdicts are found here, the conflicts of an invalid board are left to the validators.
+ * Boards that are not 9x9 or have numbers out of range are reported as irregular, the validators reject them
+ * with the errors of their own.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class BitSlicedKernel {
+
+    /**
+     * The most boards validated at once, one per bit of a long
+     */
+    public static final int LANES = Long.SIZE;
+
+    private static final BoardGeometry GEOMETRY = BoardGeometry.CLASSIC;
+    private static final int SIZE = GEOMETRY.getSize();
+    private static final int CELLS = GEOMETRY.getCells();
+
+    // the cells of every row, column and square in this order, as indexes in row major order
+    private static final int[][] UNITS = new int[3 * SIZE][SIZE];
+    private static final int COLUMNS = SIZE;
+    private static final int SQUARES = 2 * SIZE;
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            for (int k = 0; k < SIZE; k++) {
+                UNITS[i][k] = i * SIZE + k;
+                UNITS[COLUMNS + i][k] = k * SIZE + i;
+                UNITS[SQUARES + i][k] = GEOMETRY.squareRow(i, k) * SIZE + GEOMETRY.squareColumn(i, k);
+            }
+        }
+    }
+
+    private BitSlicedKernel() {
+    }
+
+    /**
+     * @param boards the boards to validate, they are not modified
+     * @param offset the index of the first board to validate, which gets lane 0
+     * @param count the number of boards to validate, at most {@link #LANES}
+     * @return the verdicts of the boards by lane
+     */
+    public static Verdicts validate(short[][][] boards, int offset, int count) {
+        if (count < 0 || count > LANES) {
+            throw new IllegalArgumentException(String.format("Can't validate %d boards at once", count));
+        }
+        // slices[cell * SIZE + number - 1] has the lanes with that number at that cell
+        long[] slices = new long[CELLS * SIZE];
+        long empty = 0;
+        long irregular = 0;
+        for (int lane = 0; lane < count; lane++) {
+            long bit = 1L << lane;
+            short[][] board = boards[offset + lane];
+            if (!isClassic(board)) {
+                irregular |= bit;
+                continue;
+            }
+            fill:
+            for (int i = 0; i < SIZE; i++) {
+                short[] row = board[i];
+                for (int j = 0; j < SIZE; j++) {
+                    int value = row[j];
+                    if (value == 0) {
+                        empty |= bit;
+                    } else if (value < 0 || value > SIZE) {
+                        irregular |= bit;
+                        break fill;
+                    } else {
+                        slices[(i * SIZE + j) * SIZE + value - 1] |= bit;
+                    }
+                }
+            }
+        }
+
+        long rowDuplicates = duplicates(slices, 0);
+        long columnDuplicates = duplicates(slices, COLUMNS);
+        long squareDuplicates = duplicates(slices, SQUARES);
+
+        long lanes = count == LANES ? -1L : (1L << count) - 1;
+        long regular = lanes & ~irregular;
+        long finished = regular & ~empty & ~squareDuplicates;
+        long invalid = regular & ~finished & (rowDuplicates | columnDuplicates | squareDuplicates);
+        return new Verdicts(invalid, finished, irregular);
+    }
+
+    /**
+     * @param first the first of the {@link #SIZE} units to look at, the rows, the columns or the squares
+     * @return the lanes with any number more than once in any of the units
+     */
+    private static long duplicates(long[] slices, int first) {
+        long duplicates = 0;
+        for (int unit = first; unit < first + SIZE; unit++) {
+            int[] cells = UNITS[unit];
+            for (int number = 0; number < SIZE; number++) {
+                // the lanes with the number in any of the cells looked at so far
+                long seen = 0;
+                for (int cell : cells) {
+                    long lanes = slices[cell * SIZE + number];
+                    duplicates |= seen & lanes;
+                    seen |= lanes;
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Validate a move on a board this kernel found valid, neither finished nor invalid, without resolving the board
+     * again: only the row, the column and the square of the move are looked at. Gives the same result as the
+     * validators do for the move and applies it to the board the same way if it's valid.
+     * @param board a 9x9 board that was found valid
+     * @param number the number to place, between 1-9
+     * @param point where to place the number
+     * @return a validation result having always a state of {@link State#AFTER_MOVE}
+     */
+    public static ValidationResult applyMove(short[][] board, short number, Point point) {
+        int row = point.getRow();
+        int column = point.getColumn();
+        if (board[row][column] != 0) {
+            return ValidationResult.of(board, State.AFTER_MOVE,
+                    Collections.singletonList(BoardOccupancy.occupied(board, point)));
+        }
+
+        List<Conflict> conflicts = null;
+        int square = GEOMETRY.squareIndex(row, column);
+        Conflict.Type[] types = {Conflict.Type.ROW, Conflict.Type.COLUMN, Conflict.Type.SQUARE};
+        int[] units = {row, COLUMNS + column, SQUARES + square};
+        for (int t = 0; t < types.length; t++) {
+            for (int cell : UNITS[units[t]]) {
+                if (board[cell / SIZE][cell % SIZE] == number) {
+                    if (conflicts == null) {
+                        conflicts = new ArrayList<>(3);
+                    }
+                    conflicts.add(BoardOccupancy.clash(board, GEOMETRY, types[t], number, point));
+                    break;
+                }
+            }
+        }
+        if (conflicts != null) {
+            return ValidationResult.of(board, State.AFTER_MOVE, conflicts);
+        }
+
+        board[row][column] = number;
+        for (short[] cells : board) {
+            for (short value : cells) {
+                if (value == 0) {
+                    return ValidationResult.of(board, State.AFTER_MOVE, Collections.emptyList());
+                }
+            }
+        }
+        return ValidationResult.finished(board, State.AFTER_MOVE);
+    }
+
+    private static boolean isClassic(short[][] board) {
+        if (board == null || board.length != SIZE) {
+            return false;
+        }
+        for (short[] row : board) {
+            if (row == null || row.length != SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The verdicts of the boards validated together, as masks where bit b stands for the board of lane b.
+     * A regular board that is neither invalid nor finished is valid.
+     */
+    public static final class Verdicts {
+
+        private final long invalid;
+        private final long finished;
+        private final long irregular;
+
+        private Verdicts(long invalid, long finished, long irregular) {
+            this.invalid = invalid;
+            this.finished = finished;
+            this.irregular = irregular;
+        }
+
+        /**
+         * @return the lanes of the boards with any number more than once in a row, column or square
+         * that are not finished
+         */
+        public long getInvalid() {
+            return invalid;
+        }
+
+        public long getFinished() {
+            return finished;
+        }
+
+        /**
+         * @return the lanes of the boards that are not 9x9 or have numbers out of range
+         */
+        public long getIrregular() {
+            return irregular;
+        }
+
+        /**
+         * @return the status of the board of the lane or null if the board is irregular
+         */
+        public ValidationStatus statusOf(int lane) {
+            long bit = 1L << lane;
+            if ((irregular & bit) != 0) {
+                return null;
+            }
+            if ((finished & bit) != 0) {
+                return ValidationStatus.FINISHED;
+            }
+            return (invalid & bit) != 0 ? ValidationStatus.INVALID : ValidationStatus.VALID;
+        }
+    }
+
+}
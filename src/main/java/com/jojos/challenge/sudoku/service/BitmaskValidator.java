@@ -0,0 +1,115 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.MoveSequence;
+import com.jojos.challenge.sudoku.domain.SequenceResult;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+
+/**
+ * Stateless, thread-safe implementation of the validation interface.
+ * In contrast to {@link DefaultValidator} it keeps no fields at all, so a single instance can be shared
+ * by every request without a request scoped proxy in front of it.
+ * It is selected by setting the property {@code sudoku.validator.engine=bitmask}.
+ *
+ * @implNote The occupancy of every row, column and square is kept as a 9-bit int mask in a {@link BoardOccupancy}
+ * that never escapes the {@link #validateSudokuMove(SudokuMove)} call. The moves of a sequence are all applied to
+ * the same occupancy, resolved once.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+@ConditionalOnProperty(name = "sudoku.validator.engine", havingValue = "bitmask")
+public class BitmaskValidator implements Validator {
+
+    private static final Logger log = LoggerFactory.getLogger(BitmaskValidator.class);
+
+    @Autowired(required = false)
+    SudokuMetrics metrics;
+
+    @Override
+    public ValidationResult validateSudokuMove(SudokuMove sudokuMove) throws ApplicationException {
+        short[][] board = sudokuMove.getBoard();
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> conflicts = new ArrayList<>();
+
+        long start = System.nanoTime();
+        occupancy.resolve(board, conflicts);
+        long resolved = System.nanoTime();
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.RESOLVE, resolved - start);
+        }
+
+        // this is the status BEFORE the move. Don't validate any move on a board that is already finished or invalid
+        if (occupancy.isFinished()) {
+            return ValidationResult.finished(board, State.BEFORE_MOVE);
+        }
+        if (!conflicts.isEmpty()) {
+            return ValidationResult.of(board, State.BEFORE_MOVE, conflicts);
+        }
+
+        log.debug("Proceed with movement validation");
+        ValidationResult validationResult = occupancy.applyMove(board, sudokuMove.getNumber(), sudokuMove.getPoint());
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.MOVE, System.nanoTime() - resolved);
+        }
+        return validationResult;
+    }
+
+    /**
+     * Validate a board on its own, without any move, e.g. for the bulk validation of puzzle files.
+     * @param board the sudoku board in question
+     * @return a validation result having always a state of {@link State#BEFORE_MOVE}
+     * @throws ApplicationException if the size of the board is not supported or any value on it is out of range
+     */
+    public ValidationResult validateBoard(short[][] board) throws ApplicationException {
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> conflicts = new ArrayList<>();
+        occupancy.resolve(board, conflicts);
+        if (occupancy.isFinished()) {
+            return ValidationResult.finished(board, State.BEFORE_MOVE);
+        }
+        return ValidationResult.of(board, State.BEFORE_MOVE, conflicts);
+    }
+
+    @Override
+    public SequenceResult validateSequence(MoveSequence moveSequence) throws ApplicationException {
+        short[][] board = moveSequence.getBoard();
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> conflicts = new ArrayList<>();
+
+        long start = System.nanoTime();
+        occupancy.resolve(board, conflicts);
+        long resolved = System.nanoTime();
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.RESOLVE, resolved - start);
+        }
+
+        if (occupancy.isFinished()) {
+            return new SequenceResult(ValidationResult.finished(board, State.BEFORE_MOVE), 0, null);
+        }
+        if (!conflicts.isEmpty()) {
+            return new SequenceResult(ValidationResult.of(board, State.BEFORE_MOVE, conflicts), 0, null);
+        }
+
+        SequenceResult sequenceResult = MoveSequences.validate(moveSequence.getMoves(), board.length,
+                (number, point) -> occupancy.applyMove(board, number, point));
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.MOVE, System.nanoTime() - resolved);
+        }
+        return sequenceResult;
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+
+/**
+ * Occupancy of every row, column and square of a board kept as int masks sized to the board
+ * where bit (n - 1) is set if number n is placed in that row, column or square, see {@link BoardGeometry}.
+ * Once resolved from a board, moves can be checked and applied incrementally without looking at the board again,
+ * touching only the three masks of the move whatever the size of the board.
+ * Conflicts are collected as they are found, with the cell they conflict with looked up only then,
+ * and nothing is formatted or logged for them, see {@link Conflict}.
+ * Not thread-safe, callers either keep an instance local to one call or guard it themselves.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+class BoardOccupancy {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardOccupancy.class);
+
+    // the row masks come first, then the column and the square masks, each of them as many as the size of the board
+    private int[] masks;
+    private int columns;
+    private int squares;
+
+    private BoardGeometry geometry;
+    private int totalValidNumbers = 0;
+
+    /**
+     * Fill in the occupancy masks for the given board and collect any duplicates found on the way.
+     * @param board the sudoku board in question
+     * @param conflicts where to add a conflict for every duplicate value
+     * @throws ApplicationException if the size of the board is not supported
+     * or any value on the board is not between 0 and the size of the board
+     */
+    void resolve(short[][] board, List<Conflict> conflicts) throws ApplicationException {
+        geometry = BoardGeometry.of(board);
+        int size = geometry.getSize();
+        columns = size;
+        squares = 2 * size;
+        masks = new int[3 * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                short value = board[i][j];
+                if (value < 0 || value > size) {
+                    throw outOfRange(value, i, j, geometry);
+                } else if (value != 0) {
+                    int bit = 1 << (value - 1);
+
+                    if ((masks[i] & bit) == 0) {
+                        masks[i] |= bit;
+                    } else {
+                        conflicts.add(duplicate(board, geometry, Conflict.Type.ROW, i, j));
+                    }
+
+                    if ((masks[columns + j] & bit) == 0) {
+                        masks[columns + j] |= bit;
+                    } else {
+                        conflicts.add(duplicate(board, geometry, Conflict.Type.COLUMN, i, j));
+                    }
+
+                    // same counting as DefaultValidator, a value counts if it is unique within its square
+                    int squareIndex = geometry.squareIndex(i, j);
+                    if ((masks[squares + squareIndex] & bit) == 0) {
+                        masks[squares + squareIndex] |= bit;
+                        ++totalValidNumbers;
+                    } else {
+                        conflicts.add(duplicate(board, geometry, Conflict.Type.SQUARE, i, j));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * We are finished if every cell of our board has a valid number, 81 for the classic board
+     * @return true if the board is considered finished, false otherwise.
+     */
+    boolean isFinished() {
+        return totalValidNumbers == geometry.getCells();
+    }
+
+    /**
+     * @param conflicts the conflicts found when the board was resolved
+     * @return the messages of the conflicts, for the errors of the services that refuse an invalid board
+     */
+    List<String> describe(List<Conflict> conflicts) {
+        return Conflict.describe(conflicts, State.BEFORE_MOVE, geometry);
+    }
+
+    /**
+     * @return the geometry of the resolved board
+     */
+    BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @param row the row of an empty cell
+     * @param column the column of an empty cell
+     * @return the mask of the numbers that can still be placed at the cell, bit (n - 1) is set if number n can be placed
+     */
+    int candidates(int row, int column) {
+        return geometry.getAllNumbers() & ~(masks[row] | masks[columns + column]
+                | masks[squares + geometry.squareIndex(row, column)]);
+    }
+
+    /**
+     * Validate a move against the resolved occupancy and apply it to both the board and the masks if it is valid.
+     * Must only be called for a board that was resolved as neither finished nor invalid.
+     * @param board the board this occupancy was resolved from
+     * @param number the number to place
+     * @param point where to place the number
+     * @return a validation result having always a state of {@link State#AFTER_MOVE}
+     * @throws ApplicationException if the number is 0, which can't be placed
+     */
+    ValidationResult applyMove(short[][] board, short number, Point point) throws ApplicationException {
+        int row = point.getRow();
+        int column = point.getColumn();
+
+        if (board[row][column] != 0) {
+            return ValidationResult.of(board, State.AFTER_MOVE, Collections.singletonList(occupied(board, point)));
+        }
+        checkPlaceable(number, point);
+
+        int bit = 1 << (number - 1);
+        int squareIndex = geometry.squareIndex(row, column);
+
+        if ((masks[row] & bit) == 0 && (masks[columns + column] & bit) == 0 && (masks[squares + squareIndex] & bit) == 0) {
+            board[row][column] = number;
+            masks[row] |= bit;
+            masks[columns + column] |= bit;
+            masks[squares + squareIndex] |= bit;
+            ++totalValidNumbers;
+        } else {
+            List<Conflict> conflicts = new ArrayList<>(3);
+            if ((masks[row] & bit) != 0) {
+                conflicts.add(clash(board, geometry, Conflict.Type.ROW, number, point));
+            }
+            if ((masks[columns + column] & bit) != 0) {
+                conflicts.add(clash(board, geometry, Conflict.Type.COLUMN, number, point));
+            }
+            if ((masks[squares + squareIndex] & bit) != 0) {
+                conflicts.add(clash(board, geometry, Conflict.Type.SQUARE, number, point));
+            }
+            return ValidationResult.of(board, State.AFTER_MOVE, conflicts);
+        }
+
+        if (isFinished()) {
+            return ValidationResult.finished(board, State.AFTER_MOVE);
+        }
+        return ValidationResult.of(board, State.AFTER_MOVE, Collections.emptyList());
+    }
+
+    /**
+     * @return the conflict of the value at the given cell with the first equal value in its row, column or square
+     */
+    static Conflict duplicate(short[][] board, BoardGeometry geometry, Conflict.Type type, int row, int column) {
+        short value = board[row][column];
+        return new Conflict(type, value, new Point((short) row, (short) column),
+                firstWith(board, geometry, type, row, column, value));
+    }
+
+    /**
+     * @return the conflict of placing the number at the given point with the same number in its row, column or square
+     */
+    static Conflict clash(short[][] board, BoardGeometry geometry, Conflict.Type type, short number, Point point) {
+        return new Conflict(type, number, point, firstWith(board, geometry, type, point.getRow(), point.getColumn(), number));
+    }
+
+    /**
+     * The check of the number of a move shared by the engines, made after the board was found neither finished nor
+     * invalid and the cell empty, so that every engine gives the same answer to a move of the number 0.
+     * @throws ApplicationException if the number is 0, which can't be placed
+     */
+    static void checkPlaceable(short number, Point point) throws ApplicationException {
+        if (number == 0) {
+            throw new ApplicationException(String.format("Number %d can't be placed at %s", number, point));
+        }
+    }
+
+    /**
+     * @return the conflict of a move on a cell that already has a number
+     */
+    static Conflict occupied(short[][] board, Point point) {
+        return new Conflict(Conflict.Type.OCCUPIED, board[point.getRow()][point.getColumn()], point, point);
+    }
+
+    /**
+     * @return the exception rejecting a board with a value that is not between 0 and its size
+     */
+    static ApplicationException outOfRange(short value, int row, int column, BoardGeometry geometry) {
+        Conflict conflict = new Conflict(Conflict.Type.OUT_OF_RANGE, value, new Point((short) row, (short) column), null);
+        String errorMsg = conflict.describe(State.BEFORE_MOVE, geometry);
+        log.error(errorMsg);
+        return new ApplicationException(errorMsg);
+    }
+
+    /**
+     * Find the cell holding the value in the row, column or square of the given cell,
+     * only called once a conflict is known so the masks don't need to keep track of where every number is
+     * @return the first cell holding the value in row major order or null if there is none
+     */
+    private static Point firstWith(short[][] board, BoardGeometry geometry, Conflict.Type type, int row, int column,
+                                   short value) {
+        int size = geometry.getSize();
+        int square = geometry.squareIndex(row, column);
+        for (int k = 0; k < size; k++) {
+            int i = type == Conflict.Type.ROW ? row : type == Conflict.Type.COLUMN ? k : geometry.squareRow(square, k);
+            int j = type == Conflict.Type.ROW ? k : type == Conflict.Type.COLUMN ? column : geometry.squareColumn(square, k);
+            if (board[i][j] == value) {
+                return new Point((short) i, (short) j);
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Solving interface in front of the {@link DefaultSolver} caching its results by the canonical form of the board,
+ * see {@link CanonicalForm}, so a board that was solved before is answered from the cache even if it comes back
+ * with its numbers relabeled, transposed or with its rows and columns permuted.
+ * Solutions are kept in canonical terms and mapped back to the terms of every board that asks for them.
+ * Boards that can't be canonicalized (other sizes, or too many symmetries) bypass the cache.
+ * It is used unless the property {@code sudoku.cache.enabled} is set to false.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "sudoku.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingSolver implements Solver {
+
+    // cached for boards without a solution
+    private static final byte[] NO_SOLUTION = new byte[0];
+
+    private final DefaultSolver delegate;
+    private final SudokuMetrics metrics;
+    private final StripedLruCache<String, byte[]> cache;
+
+    @Autowired
+    public CachingSolver(DefaultSolver delegate, SudokuMetrics metrics,
+                         @Value("${sudoku.cache.capacity}") int capacity) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.cache = new StripedLruCache<>(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @Override
+    public SolutionResult solve(Board board) throws ApplicationException {
+        short[][] values = board.getValues();
+        CanonicalForm canonicalForm = values != null ? CanonicalForm.of(values) : null;
+        if (canonicalForm == null) {
+            metrics.recordCacheLookup(SudokuMetrics.CacheOutcome.BYPASS);
+            return delegate.solve(board);
+        }
+
+        byte[] cached = cache.get(canonicalForm.getKey());
+        if (cached != null) {
+            metrics.recordCacheLookup(SudokuMetrics.CacheOutcome.HIT);
+            return cached == NO_SOLUTION
+                    ? SolutionResult.noSolution(values)
+                    : SolutionResult.solved(canonicalForm.fromCanonical(cached));
+        }
+
+        metrics.recordCacheLookup(SudokuMetrics.CacheOutcome.MISS);
+        SolutionResult solutionResult = delegate.solve(board);
+        cache.put(canonicalForm.getKey(), solutionResult.getSolutionStatus() == SolutionResult.SolutionStatus.SOLVED
+                ? canonicalForm.toCanonical(solutionResult.getBoard())
+                : NO_SOLUTION);
+        return solutionResult;
+    }
+
+}
@@ -0,0 +1,368 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The canonical form of a 9x9 board, the same for every board that is equivalent to it under relabeling of the numbers,
+ * transposition, permutation of the bands and the stacks, and permutation of the rows and columns within them.
+ * It is the lexicographically smallest of all the equivalent boards, read in row major order with 0 for an empty cell
+ * and the numbers relabeled in the order they first appear.
+ * <p>
+ * The search picks the rows one at a time, keeping every partial transformation that ties for the smallest rows so far.
+ * Since the numbers of a single row are relabeled 1, 2, 3... in order, the smallest first row only depends on which
+ * of its cells are empty, so the transpositions, first rows and column permutations that tie for it are looked up
+ * in a table instead of trying all 2 * 9 * 1296 of them. Every following row only has to be tried against the ties.
+ * Boards with many symmetries keep too many ties, in which case the search gives up, see {@link #of(short[][])}.
+ * <p>
+ * Besides the canonical board itself, an instance keeps the transformation that leads to it, so that a board known
+ * in canonical terms, such as a solution, can be mapped back to the terms of the original board.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+final class CanonicalForm {
+
+    // the most partial transformations kept while searching, beyond that the search gives up
+    static final int MAX_TIES = 10_000;
+
+    // every permutation of the stacks combined with every permutation of the columns within every stack
+    private static final int[][] COLUMN_PERMUTATIONS = columnPermutations();
+
+    // for every mask of the filled cells of a row, bit 8 for the first cell, the smallest mask any column permutation
+    // turns it into, and the column permutations that do so
+    private static final int[] SMALLEST_MASKS = new int[1 << 9];
+    private static final int[][] SMALLEST_PERMUTATIONS = new int[1 << 9][];
+
+    static {
+        int[] permutations = new int[COLUMN_PERMUTATIONS.length];
+        for (int mask = 0; mask < SMALLEST_MASKS.length; mask++) {
+            int smallest = Integer.MAX_VALUE;
+            int count = 0;
+            for (int permutation = 0; permutation < COLUMN_PERMUTATIONS.length; permutation++) {
+                int permuted = 0;
+                for (int k = 0; k < 9; k++) {
+                    permuted |= ((mask >> (8 - COLUMN_PERMUTATIONS[permutation][k])) & 1) << (8 - k);
+                }
+                if (permuted < smallest) {
+                    smallest = permuted;
+                    count = 0;
+                }
+                if (permuted == smallest) {
+                    permutations[count++] = permutation;
+                }
+            }
+            SMALLEST_MASKS[mask] = smallest;
+            SMALLEST_PERMUTATIONS[mask] = Arrays.copyOf(permutations, count);
+        }
+    }
+
+    private final String key;
+    private final boolean transposed;
+    private final int[] rows;
+    private final int[] columns;
+    // canonical label of every original number, and the original number of every canonical label
+    private final int[] labels;
+    private final int[] numbers;
+
+    private CanonicalForm(String key, Transformation transformation) {
+        this.key = key;
+        this.transposed = transformation.transposed;
+        this.rows = transformation.rows;
+        this.columns = COLUMN_PERMUTATIONS[transformation.columns];
+        this.labels = transformation.labels;
+        // numbers not on the board can take any of the remaining labels
+        int nextLabel = transformation.nextLabel;
+        for (int number = 1; number <= 9; number++) {
+            if (labels[number] == 0) {
+                labels[number] = nextLabel++;
+            }
+        }
+        this.numbers = new int[10];
+        for (int number = 1; number <= 9; number++) {
+            numbers[labels[number]] = number;
+        }
+    }
+
+    /**
+     * @param board the board to canonicalize, it is not modified
+     * @return the canonical form of the board, or null if the board is not a 9x9 board with values 0-9,
+     * or it has so many symmetries that the search for its canonical form gave up
+     */
+    static CanonicalForm of(short[][] board) {
+        if (!BoardCodec.isClassic(board)) {
+            return null;
+        }
+        for (short[] row : board) {
+            for (short value : row) {
+                if (value < 0 || value > 9) {
+                    return null;
+                }
+            }
+        }
+
+        List<Transformation> ties = firstRowTies(board);
+        if (ties == null) {
+            return null;
+        }
+
+        char[] key = new char[BoardCodec.CELLS];
+        int[] best = new int[9];
+        int[] candidate = new int[9];
+        int[] candidateLabels = new int[10];
+        relabel(board, ties.get(0), ties.get(0).rows[0], best, candidateLabels, null);
+        fillKey(key, 0, best);
+        // the ties of every step are first collected as indexes of the tie they extend and the row they take,
+        // and only turned into transformations once the smallest row is known
+        int[] picks = new int[MAX_TIES];
+        for (int position = 1; position < 9; position++) {
+            int count = 0;
+            for (int t = 0; t < ties.size(); t++) {
+                Transformation tie = ties.get(t);
+                for (int row = 0; row < 9; row++) {
+                    if (!tie.canTake(position, row)) {
+                        continue;
+                    }
+                    // the row as it would read after the transformation, relabeling the numbers seen for the first time
+                    int comparison = relabel(board, tie, row, candidate, candidateLabels, count == 0 ? null : best);
+                    if (comparison > 0) {
+                        continue;
+                    }
+                    if (comparison < 0 || count == 0) {
+                        count = 0;
+                        System.arraycopy(candidate, 0, best, 0, 9);
+                    }
+                    if (count == MAX_TIES) {
+                        return null;
+                    }
+                    picks[count++] = t * 9 + row;
+                }
+            }
+            List<Transformation> nextTies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Transformation tie = ties.get(picks[i] / 9);
+                int row = picks[i] % 9;
+                relabel(board, tie, row, candidate, candidateLabels, null);
+                int nextLabel = tie.nextLabel;
+                for (int label : candidate) {
+                    nextLabel = Math.max(nextLabel, label + 1);
+                }
+                nextTies.add(tie.next(row, candidateLabels, nextLabel));
+            }
+            fillKey(key, position, best);
+            ties = nextTies;
+        }
+        return new CanonicalForm(new String(key), ties.get(0));
+    }
+
+    /**
+     * @return every transformation that ties for the smallest first row, with its first row picked
+     * and the numbers of it relabeled, or null if there are too many of them
+     */
+    private static List<Transformation> firstRowTies(short[][] board) {
+        int[] masks = new int[18];
+        int smallest = Integer.MAX_VALUE;
+        int count = 0;
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                int mask = 0;
+                for (int k = 0; k < 9; k++) {
+                    if ((t == 1 ? board[k][row] : board[row][k]) != 0) {
+                        mask |= 1 << (8 - k);
+                    }
+                }
+                masks[t * 9 + row] = mask;
+                if (SMALLEST_MASKS[mask] < smallest) {
+                    smallest = SMALLEST_MASKS[mask];
+                    count = 0;
+                }
+                if (SMALLEST_MASKS[mask] == smallest) {
+                    count += SMALLEST_PERMUTATIONS[mask].length;
+                }
+            }
+        }
+        if (count > MAX_TIES) {
+            return null;
+        }
+
+        List<Transformation> ties = new ArrayList<>(count);
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                int mask = masks[t * 9 + row];
+                if (SMALLEST_MASKS[mask] != smallest) {
+                    continue;
+                }
+                for (int permutation : SMALLEST_PERMUTATIONS[mask]) {
+                    Transformation tie = new Transformation(t == 1, permutation);
+                    int[] labels = new int[10];
+                    int nextLabel = 1;
+                    for (int k = 0; k < 9; k++) {
+                        int number = cell(board, tie, row, k);
+                        if (number != 0) {
+                            labels[number] = nextLabel++;
+                        }
+                    }
+                    ties.add(tie.next(row, labels, nextLabel));
+                }
+            }
+        }
+        return ties;
+    }
+
+    /**
+     * Read a row of the board after the transformation, relabeling the numbers that the transformation has not seen yet.
+     *
+     * @param candidate where the relabeled row is written
+     * @param labels where the labels of the transformation along with the new ones are written
+     * @param best the row to compare with, or null to read the whole row
+     * @return -1, 0 or 1 if the relabeled row is smaller, equal or greater than the best one, -1 if there is none;
+     * when the row is greater it is only read up to the first cell that makes it so
+     */
+    private static int relabel(short[][] board, Transformation transformation, int row, int[] candidate, int[] labels,
+                               int[] best) {
+        System.arraycopy(transformation.labels, 0, labels, 0, 10);
+        int nextLabel = transformation.nextLabel;
+        int comparison = best == null ? -1 : 0;
+        for (int k = 0; k < 9; k++) {
+            int number = cell(board, transformation, row, k);
+            if (number != 0 && labels[number] == 0) {
+                labels[number] = nextLabel++;
+            }
+            candidate[k] = labels[number];
+            if (comparison == 0 && candidate[k] != best[k]) {
+                comparison = candidate[k] < best[k] ? -1 : 1;
+                if (comparison > 0) {
+                    return comparison;
+                }
+            }
+        }
+        return comparison;
+    }
+
+    /**
+     * @return the original number at the given row of the board, transposed if needed, and the given column
+     * after the column permutation of the transformation
+     */
+    private static int cell(short[][] board, Transformation transformation, int row, int column) {
+        int permuted = COLUMN_PERMUTATIONS[transformation.columns][column];
+        return transformation.transposed ? board[permuted][row] : board[row][permuted];
+    }
+
+    private static void fillKey(char[] key, int position, int[] row) {
+        for (int k = 0; k < 9; k++) {
+            key[position * 9 + k] = (char) ('0' + row[k]);
+        }
+    }
+
+    /**
+     * @return the canonical board as 81 digits in row major order, equal for every equivalent board
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * @param board a board in the terms of the original board, e.g. its solution
+     * @return the cells of the board in canonical terms, in row major order
+     */
+    byte[] toCanonical(short[][] board) {
+        byte[] cells = new byte[BoardCodec.CELLS];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                int number = transposed ? board[columns[j]][rows[i]] : board[rows[i]][columns[j]];
+                cells[i * 9 + j] = (byte) labels[number];
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @param cells the cells of a board in canonical terms, in row major order
+     * @return a new board in the terms of the original board
+     */
+    short[][] fromCanonical(byte[] cells) {
+        short[][] board = new short[9][9];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                short number = (short) numbers[cells[i * 9 + j]];
+                if (transposed) {
+                    board[columns[j]][rows[i]] = number;
+                } else {
+                    board[rows[i]][columns[j]] = number;
+                }
+            }
+        }
+        return board;
+    }
+
+    private static int[][] columnPermutations() {
+        int[][] orders = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        int[][] permutations = new int[6 * 6 * 6 * 6][];
+        int index = 0;
+        for (int[] stacks : orders) {
+            for (int[] first : orders) {
+                for (int[] second : orders) {
+                    for (int[] third : orders) {
+                        int[][] within = {first, second, third};
+                        int[] permutation = new int[9];
+                        for (int k = 0; k < 9; k++) {
+                            permutation[k] = stacks[k / 3] * 3 + within[k / 3][k % 3];
+                        }
+                        permutations[index++] = permutation;
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+
+    /**
+     * A partial transformation: the transposition and the column permutation are fixed, the rows are picked so far
+     * up to a position, and the numbers seen so far are relabeled.
+     */
+    private static final class Transformation {
+
+        private final boolean transposed;
+        private final int columns;
+        // the original row of every position picked so far
+        private final int[] rows;
+        private final int picked;
+        private final int[] labels;
+        private final int nextLabel;
+
+        private Transformation(boolean transposed, int columns) {
+            this(transposed, columns, new int[9], 0, new int[10], 1);
+        }
+
+        private Transformation(boolean transposed, int columns, int[] rows, int picked, int[] labels, int nextLabel) {
+            this.transposed = transposed;
+            this.columns = columns;
+            this.rows = rows;
+            this.picked = picked;
+            this.labels = labels;
+            this.nextLabel = nextLabel;
+        }
+
+        /**
+         * @return true if the given row can go at the given position: the first row of a band must come from a band
+         * that was not used yet, the other two from the band of the row above it
+         */
+        private boolean canTake(int position, int row) {
+            for (int k = 0; k < picked; k++) {
+                if (position % 3 == 0 ? rows[k] / 3 == row / 3 : rows[k] == row) {
+                    return false;
+                }
+            }
+            return position % 3 == 0 || rows[position - 1] / 3 == row / 3;
+        }
+
+        private Transformation next(int row, int[] labels, int nextLabel) {
+            int[] nextRows = rows.clone();
+            nextRows[picked] = row;
+            return new Transformation(transposed, columns, nextRows, picked + 1, labels.clone(), nextLabel);
+        }
+    }
+
+}
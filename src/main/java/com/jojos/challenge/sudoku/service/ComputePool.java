@@ -0,0 +1,122 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of threads, one per core unless configured otherwise, for the work that is too expensive to run
+ * on the servlet threads, e.g. solving a board. Requests wait in a bounded queue, and once the queue is full new
+ * work is turned down right away instead of piling up.
+ * Cancelling a returned future interrupts the work if it has already started.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Service
+public class ComputePool {
+
+    private static final Logger log = LoggerFactory.getLogger(ComputePool.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    @Autowired
+    public ComputePool(@Value("${sudoku.compute.threads}") int threads,
+                       @Value("${sudoku.compute.queue-capacity}") int queueCapacity,
+                       @Value("${sudoku.compute.timeout-ms}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-compute-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeoutMillis = timeoutMillis;
+        log.info("Started {} compute threads with a queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * @param work the work to run on the pool
+     * @return the future result of the work
+     * @throws ServiceUnavailableException if too much work is already waiting for the pool
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) throws ServiceUnavailableException {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    future.complete(work.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException(String.format("Too many requests are waiting, %d already queued",
+                    executor.getQueue().size()));
+        }
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run the work on the pool and wait for its result, for the work of a request that can't be handed over
+     * asynchronously, e.g. every line of a stream. The calling thread only waits for as long as the timeout,
+     * the work is cancelled once it's exceeded.
+     * @param work the work to run on the pool
+     * @return the result of the work
+     * @throws ServiceUnavailableException if too much work is already waiting for the pool
+     * or the work doesn't complete within the timeout
+     */
+    public <T> T call(Supplier<T> work) throws ServiceUnavailableException {
+        CompletableFuture<T> future = submit(work);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException(String.format("Work did not complete within %d ms", timeoutMillis));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the work to complete");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return how long a request may wait for its work to complete, queueing included
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
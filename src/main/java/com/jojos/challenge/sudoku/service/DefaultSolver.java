@@ -0,0 +1,82 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stateless implementation of the solving interface, a single instance is shared by every request.
+ * The board is first checked the same way as a board before a move, see {@link BoardOccupancy},
+ * and then handed to a {@link SudokuSearch}.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class DefaultSolver implements Solver {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultSolver.class);
+
+    @Override
+    public SolutionResult solve(Board board) throws ApplicationException {
+        short[][] values = board.getValues();
+        if (values == null) {
+            throw new ApplicationException("Board has no values");
+        }
+
+        List<Conflict> conflicts = new ArrayList<>();
+        BoardOccupancy occupancy = new BoardOccupancy();
+        occupancy.resolve(values, conflicts);
+        if (!conflicts.isEmpty()) {
+            throw new ApplicationException("Can't solve an invalid board " + occupancy.describe(conflicts));
+        }
+
+        SudokuSearch search = new SudokuSearch(occupancy.getGeometry(), 1, null);
+        int solutions = search.run(toCells(values));
+        if (search.isInterrupted()) {
+            throw new ApplicationException("Solving was interrupted");
+        }
+        if (solutions == 0) {
+            log.debug("No solution found");
+            return SolutionResult.noSolution(values);
+        }
+        return SolutionResult.solved(toBoard(search.getSolution()));
+    }
+
+    /**
+     * @param board a board of any supported size
+     * @return the cells of the board in row major order
+     */
+    static int[] toCells(short[][] board) {
+        int size = board.length;
+        int[] cells = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[i * size + j] = board[i][j];
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @param cells the cells of a board of any supported size in row major order
+     * @return a new board of the cells
+     */
+    static short[][] toBoard(int[] cells) {
+        int size = (int) Math.round(Math.sqrt(cells.length));
+        short[][] board = new short[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                board[i][j] = (short) cells[i * size + j];
+            }
+        }
+        return board;
+    }
+
+}
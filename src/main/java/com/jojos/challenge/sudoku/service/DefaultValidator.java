@@ -1,12 +1,18 @@
 package com.jojos.challenge.sudoku.service;
 
 import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.MoveSequence;
 import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SequenceResult;
 import com.jojos.challenge.sudoku.domain.SudokuMove;
 import com.jojos.challenge.sudoku.domain.ValidationResult;
-import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Component;
@@ -32,10 +38,14 @@ import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
  *
  * @implNote Three secondary boolean arrays are created one for rows columns and squares.
  * Their indexes represent the values that got placed into that row, column or square.
+ * This is the engine used unless the property {@code sudoku.validator.engine} selects another one,
+ * see {@link BitmaskValidator}. Conflicts are reported as {@link Conflict}s, built the same way as
+ * {@link BoardOccupancy} does so that both engines give the same results.
  *
  * Created by karanikasg@gmail.com.
  */
 @Component
+@ConditionalOnProperty(name = "sudoku.validator.engine", havingValue = "default", matchIfMissing = true)
 @Scope(value="request", proxyMode = ScopedProxyMode.INTERFACES)
 public class DefaultValidator implements Validator {
 
@@ -47,22 +57,33 @@ public class DefaultValidator implements Validator {
     Create an array of booleans for every row, column and square.
     Their indexes represent the values that got placed into that row, column or square.
     For example if we have a 4 to fifth row, second column, we should set rows[5][4] , columns[2][4] and squares[3][4] to true,
-    to mark that the row, column, and square have a 4 value. Check also the {@link #SQUARE_INDEXES} array.
+    to mark that the row, column, and square have a 4 value. Check also {@link BoardGeometry#squareIndex(int, int)}.
     That way it becomes an O(1) operation to determine for any given value if it's a duplicate on a row, column or square level
+    They are sized to the board once its geometry is known, 9x9 for the classic board.
      */
-    private final boolean[][] rows = new boolean[9][9];
-    private final boolean[][] columns = new boolean[9][9];
-    private final boolean[][] squares = new boolean[9][9];
+    private boolean[][] rows;
+    private boolean[][] columns;
+    private boolean[][] squares;
+
+    private BoardGeometry geometry;
 
     private short totalValidNumbers = 0;
 
     private ValidationResult boardValidationResult;
 
+    @Autowired(required = false)
+    SudokuMetrics metrics;
+
     @Override
     public ValidationResult validateSudokuMove(SudokuMove sudokuMove) throws ApplicationException {
 
         // set the boards
+        long start = System.nanoTime();
         boardValidationResult = resolveAndValidateSecondaryArrays(sudokuMove.getBoard());
+        long resolved = System.nanoTime();
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.RESOLVE, resolved - start);
+        }
 
         // this is the status BEFORE the move. It's entirely possible that the board in question is
         // already finished or invalid. Don't validate the move in that case.
@@ -71,61 +92,101 @@ public class DefaultValidator implements Validator {
         // Don't validate any move on a board that is already finished or invalid
         if (!isFinished() && status != ValidationStatus.INVALID) {
             log.debug("Proceed with movement validation");
-            short[][] board = sudokuMove.getBoard();
-            short number = sudokuMove.getNumber();
-            Point point = sudokuMove.getPoint();
-            int row = point.getRow();
-            int column = point.getColumn();
-
-            // any reported state after this point is a {@link State#AFTERMOVE}
-            State state = State.AFTER_MOVE;
-            // first check if the valid board contains any element at this point
-            if (board[row][column] != 0) {
-                String warnMsg = String.format("Board already contains number %d at %s", board[row][column], point);
-                log.warn(warnMsg);
-                boardValidationResult = ValidationResult.of(board, state, Collections.singletonList(warnMsg));
-            } else {
-                // make our number value a zero-based index for convenience accessing our tables
-                short indexedNumber = (short) (number - 1);
-
-                List<String> invalidityWarnings = new ArrayList<>();
-                if (rows[row][indexedNumber]) {
-                    String warnMsg = String.format("Board already contains the same number %d at row %d", number, row);
-                    log.warn(warnMsg);
-                    invalidityWarnings.add(warnMsg);
-                }
-                if (columns[column][indexedNumber]) {
-                    String warnMsg = String.format("Board already contains the same number %d at column %d", number, column);
-                    log.warn(warnMsg);
-                    invalidityWarnings.add(warnMsg);
-                }
+            boardValidationResult = applyMove(sudokuMove.getBoard(), sudokuMove.getNumber(), sudokuMove.getPoint());
+            if (metrics != null) {
+                metrics.recordPhase(SudokuMetrics.Phase.MOVE, System.nanoTime() - resolved);
+            }
+        }
+
+        return boardValidationResult;
+    }
 
-                // identify the square that our rows and columns map to our sudoku board
-                short squareIndex = SudokuUtils.SQUARE_INDEXES[row][column];
+    /**
+     * Validate a move against the secondary arrays, resolved from the board beforehand, and apply it if it's valid.
+     * @return a validation result having always a state of {State#AFTER_MOVE}
+     * @throws ApplicationException if the number is 0, which can't be placed
+     */
+    private ValidationResult applyMove(short[][] board, short number, Point point) throws ApplicationException {
+        int row = point.getRow();
+        int column = point.getColumn();
 
-                if (squares[squareIndex][indexedNumber]) {
-                    String warnMsg = String.format("Board already contains the same number %d at square %d", number, squareIndex);
-                    log.warn(warnMsg);
-                    invalidityWarnings.add(warnMsg);
-                }
+        // any reported state after this point is a {@link State#AFTERMOVE}
+        State state = State.AFTER_MOVE;
+        // first check if the valid board contains any element at this point
+        if (board[row][column] != 0) {
+            return ValidationResult.of(board, state,
+                    Collections.singletonList(BoardOccupancy.occupied(board, point)));
+        } else {
+            BoardOccupancy.checkPlaceable(number, point);
+            // make our number value a zero-based index for convenience accessing our tables
+            short indexedNumber = (short) (number - 1);
 
-                if (invalidityWarnings.isEmpty()) {
-                    board[row][column] = number;
-                    rows[row][indexedNumber] = true;
-                    columns[column][indexedNumber] = true;
-                    squares[squareIndex][indexedNumber] = true;
-                    ++totalValidNumbers;
-                }
+            List<Conflict> conflicts = new ArrayList<>();
+            if (rows[row][indexedNumber]) {
+                conflicts.add(BoardOccupancy.clash(board, geometry, Conflict.Type.ROW, number, point));
+            }
+            if (columns[column][indexedNumber]) {
+                conflicts.add(BoardOccupancy.clash(board, geometry, Conflict.Type.COLUMN, number, point));
+            }
 
-                if (isFinished()) {
-                    boardValidationResult = ValidationResult.finished(board, state);
-                } else {
-                    boardValidationResult = ValidationResult.of(board, state, invalidityWarnings);
-                }
+            // identify the square that our rows and columns map to our sudoku board
+            short squareIndex = geometry.squareIndex(row, column);
+
+            if (squares[squareIndex][indexedNumber]) {
+                conflicts.add(BoardOccupancy.clash(board, geometry, Conflict.Type.SQUARE, number, point));
+            }
+
+            if (conflicts.isEmpty()) {
+                board[row][column] = number;
+                rows[row][indexedNumber] = true;
+                columns[column][indexedNumber] = true;
+                squares[squareIndex][indexedNumber] = true;
+                ++totalValidNumbers;
+            }
+
+            if (isFinished()) {
+                return ValidationResult.finished(board, state);
+            } else {
+                return ValidationResult.of(board, state, conflicts);
             }
         }
+    }
 
-        return boardValidationResult;
+    @Override
+    public SequenceResult validateSequence(MoveSequence moveSequence) throws ApplicationException {
+        short[][] board = moveSequence.getBoard();
+        long start = System.nanoTime();
+        boardValidationResult = resolveAndValidateSecondaryArrays(board);
+        long resolved = System.nanoTime();
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.RESOLVE, resolved - start);
+        }
+
+        // Don't validate any move on a board that is already finished or invalid
+        if (isFinished() || boardValidationResult.getValidationStatus() == ValidationStatus.INVALID) {
+            return new SequenceResult(boardValidationResult, 0, null);
+        }
+
+        // every move is validated against the secondary arrays as left by the previous one
+        SequenceResult sequenceResult = MoveSequences.validate(moveSequence.getMoves(), geometry.getSize(),
+                (number, point) -> boardValidationResult = applyMove(board, number, point));
+        if (metrics != null) {
+            metrics.recordPhase(SudokuMetrics.Phase.MOVE, System.nanoTime() - resolved);
+        }
+        return sequenceResult;
+    }
+
+    /**
+     * This validator keeps the state of a single move and lives in the scope of a single request,
+     * so every move gets a fresh instance of its own.
+     */
+    @Override
+    public Validator threadSafe() {
+        return sudokuMove -> {
+            DefaultValidator validator = new DefaultValidator();
+            validator.metrics = metrics;
+            return validator.validateSudokuMove(sudokuMove);
+        };
     }
 
 	/**
@@ -133,19 +194,23 @@ public class DefaultValidator implements Validator {
      * @param board the sudoku board in question
      * @return a validation result having always a state of {State#BEFORE_MOVE}. The status can be FINISHED, VALID or INVALID
      */
-    private ValidationResult resolveAndValidateSecondaryArrays(short[][] board) {
+    ValidationResult resolveAndValidateSecondaryArrays(short[][] board) {
         log.debug("Setting secondary arrays");
 
-        List<String> invalidityReasons = new ArrayList<>();
+        List<Conflict> conflicts = new ArrayList<>();
+
+        geometry = BoardGeometry.of(board);
+        int size = geometry.getSize();
+        rows = new boolean[size][size];
+        columns = new boolean[size][size];
+        squares = new boolean[size][size];
 
         for (short i = 0; i < board.length; i++) {
             for (short j = 0; j < board[i].length; j++) {
-                // at this point permitted values for the indexValue are considered 0-9
+                // at this point permitted values for the indexValue are considered 0-size
                 short value = board[i][j];
                 if (!isPermittedValue(value)) {
-                    String errorMsg = String.format("Value %d on board is not between permitted values", value);
-                    log.error(errorMsg);
-                    throw new ApplicationException(errorMsg);
+                    throw BoardOccupancy.outOfRange(value, i, j, geometry);
                 } else if (value != 0) {   // skip 0 values - they are permitted but indicate no-value
 
                     // set the indexValue to be zero-based for convenience
@@ -154,29 +219,23 @@ public class DefaultValidator implements Validator {
                     if (rows[i][indexValue] == false) {
                         rows[i][indexValue] = true;
                     } else {
-                        String warnMsg = String.format("Duplicate value %d found in %d row", value, i);
-                        log.warn(warnMsg);
-                        invalidityReasons.add(warnMsg);
+                        conflicts.add(BoardOccupancy.duplicate(board, geometry, Conflict.Type.ROW, i, j));
                     }
 
                     if (columns[j][indexValue] == false) {
                         columns[j][indexValue] = true;
                     } else {
-                        String warnMsg = String.format("Duplicate value %d found in %d column", value, j);
-                        log.warn(warnMsg);
-                        invalidityReasons.add(warnMsg);
+                        conflicts.add(BoardOccupancy.duplicate(board, geometry, Conflict.Type.COLUMN, i, j));
                     }
 
                     // this line over here maps (i, j) points to squares in our sudoku board
-                    short squareIndex = SudokuUtils.SQUARE_INDEXES[i][j];
+                    short squareIndex = geometry.squareIndex(i, j);
 
                     if (squares[squareIndex][indexValue] == false) {
                         squares[squareIndex][indexValue] = true;
                         ++totalValidNumbers;
                     } else {
-                        String warnMsg = String.format("Duplicate value %d found in %d square", value, squareIndex);
-                        log.warn(warnMsg);
-                        invalidityReasons.add(warnMsg);
+                        conflicts.add(BoardOccupancy.duplicate(board, geometry, Conflict.Type.SQUARE, i, j));
                     }
                 }
             }
@@ -185,17 +244,17 @@ public class DefaultValidator implements Validator {
         if (isFinished()) {
             return ValidationResult.finished(board, State.BEFORE_MOVE);
         } else {
-            return ValidationResult.of(board, State.BEFORE_MOVE, invalidityReasons);
+            return ValidationResult.of(board, State.BEFORE_MOVE, conflicts);
         }
     }
 
     /**
-     * We are finished if we have exactly 81 valid numbers is our board
+     * We are finished if we have exactly as many valid numbers as cells in our board, 81 for the classic board,
      * or we have marked the status explicitly to finished.
      * @return true if the board is considered finished, false otherwise.
      */
     private boolean isFinished() {
-        return (totalValidNumbers == 81) ||
+        return (totalValidNumbers == geometry.getCells()) ||
                 (boardValidationResult != null &&
                         boardValidationResult.getValidationStatus() == ValidationStatus.FINISHED);
     }
@@ -203,10 +262,10 @@ public class DefaultValidator implements Validator {
     /**
      * Helper class to check if some value belonging to the board is permitted or not
      * @param value to check
-     * @return true if the value is between 0-9 (both inclusive)
+     * @return true if the value is between 0 and the size of the board (both inclusive), 0-9 for the classic board
      */
     private boolean isPermittedValue(short value) {
-        return value >= 0 && value <= 9;
+        return value >= 0 && value <= geometry.getSize();
     }
 
 }
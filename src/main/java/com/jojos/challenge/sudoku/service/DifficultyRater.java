@@ -0,0 +1,411 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Difficulty;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rates how hard a puzzle is for a human by solving it the way a human would: placing hidden and naked singles while
+ * there are any, otherwise eliminating candidates by pointing, box-line reduction, pairs and X-wings, and going back to
+ * the easiest technique after every step that made progress. Candidates are int masks as in {@link BoardOccupancy}.
+ * <p>
+ * The difficulty is decided by the hardest technique that was needed, see {@link Difficulty}, and the score adds up
+ * the weight of every technique every time it was applied, plus a penalty for every cell left empty when none of the
+ * techniques makes progress any more. Rating a puzzle takes up to a few milliseconds, so puzzles are rated once
+ * when they are generated, see {@link PuzzlePool}. Stateless and thread-safe.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class DifficultyRater {
+
+    // added to the score for every cell that none of the techniques could fill in
+    static final int UNRESOLVED_CELL_WEIGHT = 20;
+
+    /**
+     * @param board the puzzle to rate, it is not modified
+     * @return the difficulty and the score of the puzzle
+     * @throws ApplicationException if the board is invalid
+     */
+    public Rating rate(short[][] board) throws ApplicationException {
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> conflicts = new ArrayList<>();
+        occupancy.resolve(board, conflicts);
+        if (!conflicts.isEmpty()) {
+            throw new ApplicationException("Can't rate an invalid board " + occupancy.describe(conflicts));
+        }
+        return new Grid(occupancy, board).rate();
+    }
+
+    /**
+     * The difficulty of a puzzle and its score
+     */
+    public static final class Rating {
+
+        private final Difficulty difficulty;
+        private final int score;
+
+        Rating(Difficulty difficulty, int score) {
+            this.difficulty = difficulty;
+            this.score = score;
+        }
+
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return difficulty + "(" + score + ")";
+        }
+    }
+
+    /**
+     * The techniques in the order they are tried, with the weight they add to the score every time they are applied
+     */
+    enum Technique {
+        HIDDEN_SINGLE(1, Difficulty.EASY),
+        NAKED_SINGLE(2, Difficulty.EASY),
+        POINTING(4, Difficulty.MEDIUM),
+        BOX_LINE(4, Difficulty.MEDIUM),
+        NAKED_PAIR(6, Difficulty.MEDIUM),
+        HIDDEN_PAIR(8, Difficulty.MEDIUM),
+        X_WING(15, Difficulty.HARD);
+
+        private final int weight;
+        private final Difficulty difficulty;
+
+        Technique(int weight, Difficulty difficulty) {
+            this.weight = weight;
+            this.difficulty = difficulty;
+        }
+    }
+
+    /**
+     * The board being solved, flattened in row major order, with the candidates of every empty cell.
+     * Units are numbered as the masks of {@link BoardOccupancy}: the rows come first, then the columns and the squares.
+     */
+    private static final class Grid {
+
+        private final int size;
+        private final int[] candidates;
+        // the cells of every unit and the units of every cell, a row, a column and a square in that order
+        private final int[][] units;
+        private final int[][] unitsOf;
+        private int empty;
+
+        private Grid(BoardOccupancy occupancy, short[][] board) {
+            BoardGeometry geometry = occupancy.getGeometry();
+            size = geometry.getSize();
+            candidates = new int[geometry.getCells()];
+            units = new int[3 * size][size];
+            unitsOf = new int[geometry.getCells()][3];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    int cell = i * size + j;
+                    int square = geometry.squareIndex(i, j);
+                    units[i][j] = cell;
+                    units[size + j][i] = cell;
+                    unitsOf[cell][0] = i;
+                    unitsOf[cell][1] = size + j;
+                    unitsOf[cell][2] = 2 * size + square;
+                    if (board[i][j] == 0) {
+                        candidates[cell] = occupancy.candidates(i, j);
+                        empty++;
+                    }
+                }
+            }
+            for (int square = 0; square < size; square++) {
+                for (int k = 0; k < size; k++) {
+                    units[2 * size + square][k] = geometry.squareRow(square, k) * size + geometry.squareColumn(square, k);
+                }
+            }
+        }
+
+        private Rating rate() {
+            Difficulty difficulty = Difficulty.EASY;
+            int score = 0;
+            while (empty > 0) {
+                Technique technique = step();
+                if (technique == null) {
+                    return new Rating(Difficulty.EXPERT, score + empty * UNRESOLVED_CELL_WEIGHT);
+                }
+                score += technique.weight;
+                if (technique.difficulty.compareTo(difficulty) > 0) {
+                    difficulty = technique.difficulty;
+                }
+            }
+            return new Rating(difficulty, score);
+        }
+
+        /**
+         * Apply the easiest technique that makes progress, once
+         * @return the technique applied or null if none of them makes progress
+         */
+        private Technique step() {
+            if (hiddenSingle()) {
+                return Technique.HIDDEN_SINGLE;
+            }
+            if (nakedSingle()) {
+                return Technique.NAKED_SINGLE;
+            }
+            if (pointing()) {
+                return Technique.POINTING;
+            }
+            if (boxLine()) {
+                return Technique.BOX_LINE;
+            }
+            if (nakedPair()) {
+                return Technique.NAKED_PAIR;
+            }
+            if (hiddenPair()) {
+                return Technique.HIDDEN_PAIR;
+            }
+            if (xWing()) {
+                return Technique.X_WING;
+            }
+            return null;
+        }
+
+        /**
+         * A number that fits in only one cell of a row, column or square goes there.
+         */
+        private boolean hiddenSingle() {
+            for (int[] unit : units) {
+                int once = 0;
+                int twice = 0;
+                for (int cell : unit) {
+                    twice |= once & candidates[cell];
+                    once |= candidates[cell];
+                }
+                int only = once & ~twice;
+                if (only != 0) {
+                    int bit = only & -only;
+                    for (int cell : unit) {
+                        if ((candidates[cell] & bit) != 0) {
+                            place(cell, bit);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A cell with only one candidate left takes it.
+         */
+        private boolean nakedSingle() {
+            for (int cell = 0; cell < candidates.length; cell++) {
+                if (Integer.bitCount(candidates[cell]) == 1) {
+                    place(cell, candidates[cell]);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A number that fits only in one row (or column) of a square can't go anywhere else in that row (or column).
+         */
+        private boolean pointing() {
+            for (int square = 2 * size; square < 3 * size; square++) {
+                if (confine(square, 0) || confine(square, 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A number that fits only in one square of a row or column can't go anywhere else in that square.
+         */
+        private boolean boxLine() {
+            for (int line = 0; line < 2 * size; line++) {
+                if (confine(line, 2)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * For every number that fits only in cells of the given unit that share another unit of the given kind,
+         * remove the number from the rest of that other unit.
+         * @param kind 0 for rows, 1 for columns and 2 for squares
+         */
+        private boolean confine(int unit, int kind) {
+            int numbers = 0;
+            for (int cell : units[unit]) {
+                numbers |= candidates[cell];
+            }
+            for (int remaining = numbers; remaining != 0; remaining &= remaining - 1) {
+                int bit = remaining & -remaining;
+                int shared = -1;
+                for (int cell : units[unit]) {
+                    if ((candidates[cell] & bit) != 0) {
+                        int other = unitsOf[cell][kind];
+                        shared = shared == -1 || shared == other ? other : -2;
+                    }
+                }
+                if (shared >= 0 && eliminate(shared, bit, unit, unit)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Two cells of a unit having the same two candidates take those two numbers from the rest of the unit.
+         */
+        private boolean nakedPair() {
+            for (int[] unit : units) {
+                for (int first = 0; first < size; first++) {
+                    int pair = candidates[unit[first]];
+                    if (Integer.bitCount(pair) != 2) {
+                        continue;
+                    }
+                    for (int second = first + 1; second < size; second++) {
+                        if (candidates[unit[second]] != pair) {
+                            continue;
+                        }
+                        boolean changed = false;
+                        for (int k = 0; k < size; k++) {
+                            if (k != first && k != second && (candidates[unit[k]] & pair) != 0) {
+                                candidates[unit[k]] &= ~pair;
+                                changed = true;
+                            }
+                        }
+                        if (changed) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Two numbers that fit only in the same two cells of a unit leave no room for other candidates in those cells.
+         */
+        private boolean hiddenPair() {
+            int[] positions = new int[size];
+            for (int[] unit : units) {
+                positions(unit, positions);
+                for (int first = 0; first < size; first++) {
+                    if (Integer.bitCount(positions[first]) != 2) {
+                        continue;
+                    }
+                    for (int second = first + 1; second < size; second++) {
+                        if (positions[second] != positions[first]) {
+                            continue;
+                        }
+                        int pair = (1 << first) | (1 << second);
+                        boolean changed = false;
+                        for (int k = 0; k < size; k++) {
+                            if ((positions[first] >> k & 1) != 0 && (candidates[unit[k]] & ~pair) != 0) {
+                                candidates[unit[k]] &= pair;
+                                changed = true;
+                            }
+                        }
+                        if (changed) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A number that fits in exactly the same two columns of two rows must take those columns in these rows,
+         * so it can't go anywhere else in these two columns. The same goes with rows and columns swapped.
+         */
+        private boolean xWing() {
+            int[][] positions = new int[2 * size][size];
+            for (int line = 0; line < 2 * size; line++) {
+                positions(units[line], positions[line]);
+            }
+            for (int number = 0; number < size; number++) {
+                int bit = 1 << number;
+                // the rows of the wing with the columns as the cover lines, then the other way round
+                for (int base = 0; base < 2 * size; base += size) {
+                    int cover = size - base;
+                    for (int first = base; first < base + size; first++) {
+                        int lines = positions[first][number];
+                        if (Integer.bitCount(lines) != 2) {
+                            continue;
+                        }
+                        for (int second = first + 1; second < base + size; second++) {
+                            if (positions[second][number] != lines) {
+                                continue;
+                            }
+                            boolean changed = false;
+                            for (int remaining = lines; remaining != 0; remaining &= remaining - 1) {
+                                int line = cover + Integer.numberOfTrailingZeros(remaining);
+                                changed |= eliminate(line, bit, first, second);
+                            }
+                            if (changed) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param positions where to put, for every number, the mask of the cells of the unit where it fits
+         */
+        private void positions(int[] unit, int[] positions) {
+            for (int number = 0; number < size; number++) {
+                positions[number] = 0;
+            }
+            for (int k = 0; k < size; k++) {
+                for (int remaining = candidates[unit[k]]; remaining != 0; remaining &= remaining - 1) {
+                    positions[Integer.numberOfTrailingZeros(remaining)] |= 1 << k;
+                }
+            }
+        }
+
+        /**
+         * Remove the given candidates from every cell of the unit that is not in either of the given units.
+         * @return true if any candidate was removed
+         */
+        private boolean eliminate(int unit, int bits, int keep, int alsoKeep) {
+            boolean changed = false;
+            for (int cell : units[unit]) {
+                if ((candidates[cell] & bits) != 0 && !inUnit(cell, keep) && !inUnit(cell, alsoKeep)) {
+                    candidates[cell] &= ~bits;
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        private boolean inUnit(int cell, int unit) {
+            return unitsOf[cell][unit / size] == unit;
+        }
+
+        private void place(int cell, int bit) {
+            candidates[cell] = 0;
+            empty--;
+            for (int unit : unitsOf[cell]) {
+                for (int peer : units[unit]) {
+                    candidates[peer] &= ~bit;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.control.NotFoundException;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Game;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.store.GameBoard;
+import com.jojos.challenge.sudoku.store.GameStore;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationResultBuilder;
+
+/**
+ * Keeps games on the server side so that clients only have to send their moves.
+ * The boards of the games live in a {@link GameStore}, every move reads the board of its game, applies the move
+ * and writes the board back as a single update of the store, so the service itself keeps no state and instances
+ * sharing a store can take the moves of any game. The occupancy of a board is resolved once and kept by the store
+ * along with the board if it can, see {@link GameBoard}, so that a move only touches the masks of its row, column
+ * and square. Stores that can't keep it have it resolved again on every move.
+ * Games that were not accessed for longer than the idle timeout are evicted periodically,
+ * and no more than the configured maximum number of games are kept at any time.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Service
+public class GameService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
+
+    private final GameStore store;
+
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+
+    @Autowired
+    public GameService(GameStore store,
+                       @Value("${sudoku.games.max-size}") int maxSize,
+                       @Value("${sudoku.games.idle-timeout-seconds}") long idleTimeoutSeconds) {
+        this.store = store;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+    }
+
+    /**
+     * Create a new game.
+     * @param board the initial board of the game or null to start from the default sudoku table
+     * @return the created game
+     * @throws ApplicationException if the board is invalid, can't be kept by the store
+     * or the maximum number of games has been reached
+     */
+    public Game createGame(short[][] board) throws ApplicationException {
+        short[][] initialBoard = SudokuUtils.copyOf(board != null ? board : SudokuUtils.getSudokuTable());
+
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> conflicts = new ArrayList<>();
+        occupancy.resolve(initialBoard, conflicts);
+        if (!conflicts.isEmpty()) {
+            throw new ApplicationException("Can't create a game from an invalid board " + occupancy.describe(conflicts));
+        }
+
+        String id = UUID.randomUUID().toString();
+        if (!store.create(id, initialBoard)) {
+            evictIdleGames();
+            if (!store.create(id, initialBoard)) {
+                throw new ApplicationException(String.format("Maximum number of %d active games reached", maxSize));
+            }
+        }
+        log.debug("Created game {}", id);
+        return new Game(id, initialBoard);
+    }
+
+    /**
+     * Validate a move on an existing game and apply it if it is valid.
+     * @param gameId the id of the game
+     * @param move the move to validate
+     * @return the validation result of the move
+     * @throws NotFoundException if there is no such game
+     * @throws ApplicationException if the number or the point of the move don't fit its board
+     */
+    public ValidationResult applyMove(String gameId, Move move) throws ApplicationException {
+        ValidationResult result = store.update(gameId, game -> applyMove(game, move));
+        if (result == null) {
+            throw new NotFoundException(String.format("Game %s does not exist or has expired", gameId));
+        }
+        return result;
+    }
+
+    /**
+     * Remove every game that was not accessed for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${sudoku.games.eviction-interval-ms}")
+    public void evictIdleGames() {
+        int evicted = store.evictIdle(System.currentTimeMillis() - idleTimeoutMillis);
+        if (evicted > 0) {
+            log.info("Evicted {} idle games", evicted);
+        }
+    }
+
+    /**
+     * @param game the board of the game as kept in the store, valid since only valid moves are ever applied to it
+     * @return the validation result with a copy of the board, so it can be serialized once the store is done with it
+     */
+    private static ValidationResult applyMove(GameBoard game, Move move) throws ApplicationException {
+        short[][] board = game.getBoard();
+        BoardOccupancy occupancy = game.getDerived(BoardOccupancy.class);
+        if (occupancy == null) {
+            occupancy = new BoardOccupancy();
+            occupancy.resolve(board, new ArrayList<>());
+            game.setDerived(occupancy);
+        }
+        // the move itself was only checked against the largest board
+        Move.checkValidValuesOrThrow(move.getNumber(), move.getPoint(), occupancy.getGeometry().getSize());
+        if (occupancy.isFinished()) {
+            return ValidationResult.finished(SudokuUtils.copyOf(board), State.BEFORE_MOVE);
+        }
+        ValidationResult result = occupancy.applyMove(board, move.getNumber(), move.getPoint());
+        return new ValidationResultBuilder()
+                .board(SudokuUtils.copyOf(board))
+                .validationStatus(result.getValidationStatus())
+                .state(result.getState())
+                .conflicts(result.getConflicts())
+                .build();
+    }
+
+}
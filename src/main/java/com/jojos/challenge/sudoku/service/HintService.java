@@ -0,0 +1,123 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Hint;
+import com.jojos.challenge.sudoku.domain.HintResult;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the candidates of every cell of a board and the next forced move, from the occupancy of its rows,
+ * columns and squares, see {@link BoardOccupancy}.
+ * All candidates are computed in a single pass over the board which also counts, for every row, column and square,
+ * which numbers fit in exactly one of its cells. Stateless and thread-safe.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Service
+public class HintService {
+
+    /**
+     * @param board the board to give hints for, it is not modified
+     * @return the candidates of every cell and the next forced move
+     * @throws ApplicationException if the board is invalid
+     */
+    public HintResult hints(Board board) throws ApplicationException {
+        short[][] values = board.getValues();
+        if (values == null) {
+            throw new ApplicationException("Board has no values");
+        }
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> conflicts = new ArrayList<>();
+        occupancy.resolve(values, conflicts);
+        if (!conflicts.isEmpty()) {
+            throw new ApplicationException("Can't give hints for an invalid board " + occupancy.describe(conflicts));
+        }
+
+        BoardGeometry geometry = occupancy.getGeometry();
+        int size = geometry.getSize();
+        // the row counts come first, then the column and the square counts
+        int columns = size;
+        int squares = 2 * size;
+
+        int[][] candidates = new int[size][size];
+        // numbers that fit in at least one and in at least two cells of every row, column and square
+        int[] once = new int[3 * size];
+        int[] twice = new int[3 * size];
+        Hint nakedSingle = null;
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (values[i][j] != 0) {
+                    continue;
+                }
+                int mask = occupancy.candidates(i, j);
+                candidates[i][j] = mask;
+                if (nakedSingle == null && Integer.bitCount(mask) == 1) {
+                    nakedSingle = hint(mask, i, j, Hint.Reason.NAKED_SINGLE);
+                }
+                int square = squares + geometry.squareIndex(i, j);
+                twice[i] |= once[i] & mask;
+                once[i] |= mask;
+                twice[columns + j] |= once[columns + j] & mask;
+                once[columns + j] |= mask;
+                twice[square] |= once[square] & mask;
+                once[square] |= mask;
+            }
+        }
+
+        if (nakedSingle != null) {
+            return new HintResult(candidates, nakedSingle);
+        }
+        return new HintResult(candidates, hiddenSingle(geometry, candidates, once, twice));
+    }
+
+    /**
+     * @return the first hidden single in any row, column or square or null if there is none
+     */
+    private static Hint hiddenSingle(BoardGeometry geometry, int[][] candidates, int[] once, int[] twice) {
+        int size = geometry.getSize();
+        for (int unit = 0; unit < once.length; unit++) {
+            int only = once[unit] & ~twice[unit];
+            if (only == 0) {
+                continue;
+            }
+            int bit = only & -only;
+            for (int k = 0; k < size; k++) {
+                int i;
+                int j;
+                Hint.Reason reason;
+                if (unit < size) {
+                    i = unit;
+                    j = k;
+                    reason = Hint.Reason.HIDDEN_SINGLE_ROW;
+                } else if (unit < 2 * size) {
+                    i = k;
+                    j = unit - size;
+                    reason = Hint.Reason.HIDDEN_SINGLE_COLUMN;
+                } else {
+                    int square = unit - 2 * size;
+                    i = geometry.squareRow(square, k);
+                    j = geometry.squareColumn(square, k);
+                    reason = Hint.Reason.HIDDEN_SINGLE_SQUARE;
+                }
+                if ((candidates[i][j] & bit) != 0) {
+                    return hint(bit, i, j, reason);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Hint hint(int bit, int row, int column, Hint.Reason reason) {
+        short number = (short) (Integer.numberOfTrailingZeros(bit) + 1);
+        return new Hint(number, new Point((short) row, (short) column), reason);
+    }
+
+}
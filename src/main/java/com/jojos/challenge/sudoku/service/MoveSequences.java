@@ -0,0 +1,62 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SequenceResult;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+
+import java.util.List;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * Walks the moves of a {@link com.jojos.challenge.sudoku.domain.MoveSequence} for the validators, so that every
+ * engine stops at the same move and reports it the same way whatever it keeps between the moves.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+final class MoveSequences {
+
+    private MoveSequences() {
+    }
+
+    /**
+     * A single move on the board of the sequence, with the board and whatever the engine resolved from it
+     * carried over from the previous move.
+     */
+    @FunctionalInterface
+    interface Step {
+        ValidationResult apply(short number, Point point) throws ApplicationException;
+    }
+
+    /**
+     * Apply the moves in order until one of them is invalid or finishes the board.
+     * @param moves the moves of the sequence, at least one
+     * @param size the number of rows and columns of the board, to check the moves against
+     * @param step applies a single move. A result {@link State#BEFORE_MOVE} means the board was already finished
+     *             or invalid before the move, which is then not applied.
+     * @return the result of the last move applied or looked at
+     * @throws ApplicationException if a move is out of the permitted values of the board
+     */
+    static SequenceResult validate(List<Move> moves, int size, Step step) throws ApplicationException {
+        ValidationResult result = null;
+        for (int i = 0; i < moves.size(); i++) {
+            Move move = moves.get(i);
+            Move.checkValidValuesOrThrow(move.getNumber(), move.getPoint(), size);
+            result = step.apply(move.getNumber(), move.getPoint());
+            if (result.getState() == State.BEFORE_MOVE) {
+                return new SequenceResult(result, i, null);
+            }
+            if (result.getValidationStatus() == ValidationStatus.INVALID) {
+                return new SequenceResult(result, i, i);
+            }
+            if (result.getValidationStatus() == ValidationStatus.FINISHED) {
+                return new SequenceResult(result, i + 1, null);
+            }
+        }
+        return new SequenceResult(result, moves.size(), null);
+    }
+
+}
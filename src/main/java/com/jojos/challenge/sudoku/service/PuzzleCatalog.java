@@ -0,0 +1,121 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.control.NotFoundException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+
+/**
+ * The catalog of every 9x9 puzzle, each under an id derived from its values alone: the packed form of the board,
+ * see {@link BoardCodec}, in url safe base64. The id of a puzzle is therefore the same on every instance and
+ * forever, and it resolves to the same puzzle without any of them having to remember it, which is what lets
+ * GET /sudoku/table/{id} be cached for good by clients and proxies with a strong ETag.
+ * Resolving an id rates the puzzle, see {@link DifficultyRater}, so the capacity most recently resolved or handed out
+ * puzzles are kept. They are immutable {@link Board}s, shared by every request asking for them.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Service
+public class PuzzleCatalog {
+
+    /**
+     * The Cache-Control of a puzzle by id, it never changes
+     */
+    public static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * The forms a puzzle is sent in, every one of them with an ETag of its own, see {@link #etagOf}
+     */
+    public static final String JSON = "json";
+    public static final String TEXT = "text";
+    public static final String BINARY = "binary";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int ID_LENGTH = (BoardCodec.PACKED_SIZE * 4 + 2) / 3;
+
+    private final DifficultyRater rater;
+    private final StripedLruCache<String, Board> puzzles;
+
+    @Autowired
+    public PuzzleCatalog(DifficultyRater rater, @Value("${sudoku.catalog.capacity}") int capacity) {
+        this.rater = rater;
+        this.puzzles = new StripedLruCache<>(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param puzzle a rated 9x9 puzzle
+     * @return the same puzzle with its id, kept in the catalog
+     */
+    public Board identify(Board puzzle) {
+        short[][] values = puzzle.getValues();
+        String id = idOf(values);
+        Board identified = new Board(values, puzzle.getDifficulty(), puzzle.getScore(), id);
+        puzzles.put(id, identified);
+        return identified;
+    }
+
+    /**
+     * @param id the id of a puzzle
+     * @return the rated puzzle with that id
+     * @throws NotFoundException if the id is not the id of any puzzle or the board it stands for is invalid
+     */
+    public Board get(String id) throws NotFoundException {
+        Board puzzle = puzzles.get(id);
+        if (puzzle != null) {
+            return puzzle;
+        }
+        short[][] values = valuesOf(id);
+        DifficultyRater.Rating rating;
+        try {
+            rating = rater.rate(values);
+        } catch (ApplicationException e) {
+            throw new NotFoundException(String.format("%s is not the id of a puzzle, %s", id, e.getMessage()));
+        }
+        puzzle = new Board(values, rating.getDifficulty(), rating.getScore(), id);
+        puzzles.put(id, puzzle);
+        return puzzle;
+    }
+
+    /**
+     * The bytes of every form of a puzzle differ, so every form has a strong ETag of its own
+     * @param id the id of a puzzle
+     * @param form the form the puzzle is sent in, {@link #JSON}, {@link #TEXT} or {@link #BINARY}
+     * @return the strong ETag of the puzzle in that form, quoted
+     */
+    public static String etagOf(String id, String form) {
+        return '"' + id + '.' + form + '"';
+    }
+
+    static String idOf(short[][] values) throws ApplicationException {
+        byte[] packed = new byte[BoardCodec.PACKED_SIZE];
+        BoardCodec.pack(values, packed, 0);
+        return ENCODER.encodeToString(packed);
+    }
+
+    private static short[][] valuesOf(String id) throws NotFoundException {
+        byte[] packed = null;
+        if (id.length() == ID_LENGTH) {
+            try {
+                packed = DECODER.decode(id);
+            } catch (IllegalArgumentException e) {
+                // not base64, rejected below
+            }
+        }
+        // every puzzle has a single id, so the unused bits of the last byte and character must be clear
+        if (packed == null || (packed[packed.length - 1] & 0xF) != 0 || !ENCODER.encodeToString(packed).equals(id)) {
+            throw new NotFoundException(String.format("%s is not the id of a puzzle", id));
+        }
+        try {
+            return BoardCodec.unpack(packed, 0);
+        } catch (ApplicationException e) {
+            throw new NotFoundException(String.format("%s is not the id of a puzzle, %s", id, e.getMessage()));
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.jojos.challenge.sudoku.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Generates random 9x9 sudoku puzzles that have a unique solution.
+ * A random complete board is found by a randomized {@link SudokuSearch} on an empty board,
+ * and then its cells are cleared in a random order as long as the solution stays unique.
+ * Stateless and thread-safe, the randomness comes from the caller.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+public class PuzzleGenerator {
+
+    /**
+     * Generating a puzzle takes a few milliseconds, because of the uniqueness check for every cleared cell.
+     * @param random the source of randomness
+     * @return a new puzzle with a unique solution
+     * @throws CancellationException if the thread generating the puzzle gets interrupted
+     */
+    public short[][] generate(Random random) throws CancellationException {
+        SudokuSearch fullBoardSearch = new SudokuSearch(1, random);
+        fullBoardSearch.run(new int[81]);
+        checkNotInterrupted(fullBoardSearch);
+        int[] cells = fullBoardSearch.getSolution().clone();
+
+        int[] order = permutation(81, random);
+        for (int cell : order) {
+            int value = cells[cell];
+            cells[cell] = 0;
+            SudokuSearch uniquenessSearch = new SudokuSearch(2, null);
+            int solutions = uniquenessSearch.run(cells);
+            checkNotInterrupted(uniquenessSearch);
+            if (solutions != 1) {
+                cells[cell] = value;
+            }
+        }
+        return DefaultSolver.toBoard(cells);
+    }
+
+    private static void checkNotInterrupted(SudokuSearch search) throws CancellationException {
+        if (search.isInterrupted()) {
+            throw new CancellationException("Puzzle generation was interrupted");
+        }
+    }
+
+    /**
+     * Derive a new puzzle from an existing one, by relabeling its numbers, transposing it, permuting its bands and stacks
+     * and permuting the rows and columns within them. Any of these transformations keeps a unique solution unique,
+     * so this is a cheap way to hand out a different puzzle when there is no time to generate one.
+     * @param board the puzzle to derive from, it is not modified
+     * @param random the source of randomness
+     * @return a new puzzle equivalent to the given one
+     */
+    public short[][] derive(short[][] board, Random random) {
+        int[] labels = permutation(9, random);
+        int[] rows = linePermutation(random);
+        int[] columns = linePermutation(random);
+        boolean transpose = random.nextBoolean();
+
+        short[][] derived = new short[9][9];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                int value = transpose ? board[rows[j]][columns[i]] : board[rows[i]][columns[j]];
+                derived[i][j] = (short) (value == 0 ? 0 : labels[value - 1] + 1);
+            }
+        }
+        return derived;
+    }
+
+    /**
+     * @return a random permutation of the 9 rows (or columns) of a board, that only moves whole bands (or stacks)
+     * and rows (or columns) within them
+     */
+    private static int[] linePermutation(Random random) {
+        int[] bands = permutation(3, random);
+        int[] lines = new int[9];
+        for (int band = 0; band < 3; band++) {
+            int[] within = permutation(3, random);
+            for (int line = 0; line < 3; line++) {
+                lines[band * 3 + line] = bands[band] * 3 + within[line];
+            }
+        }
+        return lines;
+    }
+
+    private static int[] permutation(int size, Random random) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return permutation;
+    }
+
+}
@@ -0,0 +1,244 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ServiceUnavailableException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Difficulty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded pool of ready made puzzles, kept full by background workers that generate new ones.
+ * Every puzzle is rated once when it is generated, see {@link DifficultyRater}, and kept in the queue of its difficulty,
+ * so taking a puzzle of a given difficulty is a single poll and never waits for one to be generated or rated.
+ * If the queue has been drained the last generated puzzle of that difficulty is transformed into an equivalent one
+ * instead, see {@link PuzzleGenerator#derive}, which keeps its difficulty, so the latency stays the same.
+ * Workers keep generating while any of the queues has room, dropping the puzzles of the difficulties that are full.
+ * Since some difficulties come up much less often than others, workers also pause once as many puzzles in a row
+ * as the capacity of a queue had to be dropped, until puzzles are taken again, but never while the queue of any
+ * difficulty is empty, so that every difficulty gets its puzzles sooner or later.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Service
+public class PuzzlePool {
+
+    private static final Logger log = LoggerFactory.getLogger(PuzzlePool.class);
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final PuzzleGenerator generator;
+    private final DifficultyRater rater;
+    private final BlockingQueue<Board>[] puzzles;
+    private final int capacity;
+    private final int workers;
+    private final ExecutorService executor;
+
+    // the last generated puzzle of every difficulty, used to derive new ones while its queue is empty
+    private final AtomicReferenceArray<Board> seeds = new AtomicReferenceArray<>(DIFFICULTIES.length);
+
+    // paused workers wait for a puzzle to be taken, takers only signal them while any of them is waiting
+    private final Lock lock = new ReentrantLock();
+    private final Condition taken = lock.newCondition();
+    private volatile int waiting;
+
+    /**
+     * @param capacity the number of puzzles kept for every difficulty
+     */
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public PuzzlePool(PuzzleGenerator generator,
+                      DifficultyRater rater,
+                      @Value("${sudoku.pool.capacity}") int capacity,
+                      @Value("${sudoku.pool.workers}") int workers) {
+        this.generator = generator;
+        this.rater = rater;
+        this.puzzles = new BlockingQueue[DIFFICULTIES.length];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = new ArrayBlockingQueue<>(capacity);
+        }
+        this.capacity = capacity;
+        this.workers = workers;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-generator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        seed(rate(generator.generate(ThreadLocalRandom.current())));
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::refill);
+        }
+        log.info("Started {} puzzle generators for a pool of {} per difficulty", workers, capacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return a puzzle of any difficulty with a unique solution that nobody else has been given,
+     * and is free to be modified
+     */
+    public Board take() {
+        int first = ThreadLocalRandom.current().nextInt(DIFFICULTIES.length);
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            Board puzzle = puzzles[(first + i) % DIFFICULTIES.length].poll();
+            if (puzzle != null) {
+                signalTaken();
+                return puzzle;
+            }
+        }
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            Board seed = seeds.get((first + i) % DIFFICULTIES.length);
+            if (seed != null) {
+                log.debug("Puzzle pool is empty, deriving a puzzle");
+                return derive(seed);
+            }
+        }
+        throw new IllegalStateException("Puzzle pool was not started");
+    }
+
+    /**
+     * @param difficulty the difficulty of the puzzle
+     * @return a puzzle of the given difficulty with a unique solution that nobody else has been given,
+     * and is free to be modified
+     * @throws ServiceUnavailableException if no puzzle of that difficulty has been generated yet
+     */
+    public Board take(Difficulty difficulty) throws ServiceUnavailableException {
+        Board puzzle = puzzles[difficulty.ordinal()].poll();
+        if (puzzle != null) {
+            signalTaken();
+            return puzzle;
+        }
+        Board seed = seeds.get(difficulty.ordinal());
+        if (seed == null) {
+            throw new ServiceUnavailableException(String.format("No %s puzzle has been generated yet", difficulty));
+        }
+        log.debug("Puzzle pool of {} is empty, deriving a puzzle", difficulty);
+        return derive(seed);
+    }
+
+    /**
+     * @return the number of puzzles of all difficulties ready to be taken
+     */
+    public int size() {
+        int size = 0;
+        for (BlockingQueue<Board> queue : puzzles) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of puzzles of the given difficulty ready to be taken
+     */
+    public int size(Difficulty difficulty) {
+        return puzzles[difficulty.ordinal()].size();
+    }
+
+    private void refill() {
+        try {
+            int dropped = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                Board puzzle = rate(generator.generate(ThreadLocalRandom.current()));
+                seed(puzzle);
+                dropped = puzzles[puzzle.getDifficulty().ordinal()].offer(puzzle) ? 0 : dropped + 1;
+                if (dropped >= capacity && !anyEmpty() || isFull()) {
+                    log.debug("Puzzle pool is full enough, {} puzzles dropped in a row", dropped);
+                    awaitTake();
+                    dropped = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CancellationException e) {
+            log.debug("Puzzle generator stopped");
+        }
+    }
+
+    /**
+     * Wait until any puzzle is taken, or return right away if the queue of any difficulty has been drained meanwhile
+     */
+    private void awaitTake() throws InterruptedException {
+        lock.lock();
+        try {
+            ++waiting;
+            // a puzzle taken from here on is either seen by the check or signalled, the lock is held until the await
+            int size = size();
+            while (size() >= size && !anyEmpty()) {
+                taken.await();
+            }
+        } finally {
+            --waiting;
+            lock.unlock();
+        }
+    }
+
+    private void signalTaken() {
+        if (waiting > 0) {
+            lock.lock();
+            try {
+                taken.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean anyEmpty() {
+        for (BlockingQueue<Board> queue : puzzles) {
+            if (queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFull() {
+        for (BlockingQueue<Board> queue : puzzles) {
+            if (queue.remainingCapacity() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Board rate(short[][] puzzle) {
+        DifficultyRater.Rating rating = rater.rate(puzzle);
+        return new Board(puzzle, rating.getDifficulty(), rating.getScore());
+    }
+
+    private void seed(Board puzzle) {
+        // boards are immutable, the seed can't be changed by whoever takes the puzzle
+        seeds.set(puzzle.getDifficulty().ordinal(), puzzle);
+    }
+
+    private Board derive(Board seed) {
+        return new Board(generator.derive(seed.getValues(), ThreadLocalRandom.current()),
+                seed.getDifficulty(), seed.getScore());
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+
+/**
+ * Offer sudoku solving services in regards to a sudoku board.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public interface Solver {
+
+    /**
+     * @param board the board to solve, it is not modified
+     * @return the solved board or a no solution result
+     * @throws ApplicationException if the board is not a valid sudoku board to begin with
+     */
+    SolutionResult solve(Board board) throws ApplicationException;
+
+}
@@ -0,0 +1,83 @@
+package com.jojos.challenge.sudoku.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache that evicts the least recently used entries.
+ * The entries are spread over a number of stripes by the hash of their keys, every stripe is an access ordered
+ * {@link LinkedHashMap} guarded by its own lock, so concurrent lookups only contend when they land on the same stripe.
+ * The capacity is split evenly over the stripes, so eviction is least recently used within a stripe.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+class StripedLruCache<K, V> {
+
+    private final Stripe<K, V>[] stripes;
+
+    /**
+     * @param capacity the most entries kept
+     * @param stripeCount the number of stripes, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    StripedLruCache(int capacity, int stripeCount) {
+        int stripesPowerOfTwo = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new Stripe[stripesPowerOfTwo];
+        int stripeCapacity = Math.max(1, capacity / stripesPowerOfTwo);
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>(stripeCapacity);
+        }
+    }
+
+    /**
+     * @return the value of the key or null if it is not cached, marking the entry as the most recently used
+     */
+    V get(K key) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    void put(K key, V value) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    /**
+     * @return the number of entries cached
+     */
+    int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripeOf(K key) {
+        int hash = key.hashCode();
+        // spread the high bits, the stripe is picked by the low ones
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+
+import java.util.Random;
+
+/**
+ * Depth first search for the solutions of a sudoku board of any supported size, see {@link BoardGeometry}.
+ * The board is kept as its cells in row major order (81 for the classic board) together with masks of the numbers used
+ * in every row, column and square (27 for the classic board), where bit (n - 1) is set if number n is used.
+ * On every node of the search naked singles (cells with a single candidate) and hidden singles
+ * (numbers with a single possible cell in a row, column or square) are placed until nothing changes,
+ * and only then the search branches on the empty cell with the fewest candidates.
+ * The search gives up once the thread running it is interrupted, see {@link #isInterrupted()}.
+ * An instance is meant to be used for a single search and is not thread-safe.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+final class SudokuSearch {
+
+    // the tables of every supported geometry, indexed by box
+    private static final Layout[] LAYOUTS = new Layout[BoardGeometry.MAX_BOX + 1];
+
+    static {
+        for (int box = BoardGeometry.MIN_BOX; box <= BoardGeometry.MAX_BOX; box++) {
+            LAYOUTS[box] = new Layout(BoardGeometry.ofSize(box * box));
+        }
+    }
+
+    private final Layout layout;
+    private final int cellCount;
+    private final int all;
+
+    private final int limit;
+    private final Random random;
+
+    private int solutions = 0;
+    private int[] solution;
+    private boolean interrupted = false;
+
+    /**
+     * Search on the classic 9x9 board.
+     * @param limit stop searching once that many solutions have been found
+     * @param random if not null the candidates of every branch are tried in a random order
+     */
+    SudokuSearch(int limit, Random random) {
+        this(BoardGeometry.CLASSIC, limit, random);
+    }
+
+    /**
+     * @param geometry the geometry of the board to search
+     * @param limit stop searching once that many solutions have been found
+     * @param random if not null the candidates of every branch are tried in a random order
+     */
+    SudokuSearch(BoardGeometry geometry, int limit, Random random) {
+        this.layout = LAYOUTS[geometry.getBox()];
+        this.cellCount = geometry.getCells();
+        this.all = geometry.getAllNumbers();
+        this.limit = limit;
+        this.random = random;
+    }
+
+    /**
+     * Search for solutions of the given cells. The givens must not contain any duplicates.
+     * @param cells the cells in row major order having 0 for the empty ones. They are not modified.
+     * @return the number of solutions found, never more than the limit
+     */
+    int run(int[] cells) {
+        int[] used = new int[layout.units.length];
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cells[cell] != 0) {
+                layout.use(used, cell, 1 << (cells[cell] - 1));
+            }
+        }
+        search(cells.clone(), used);
+        return solutions;
+    }
+
+    /**
+     * @return the first solution found as cells in row major order or null if there is none
+     */
+    int[] getSolution() {
+        return solution;
+    }
+
+    /**
+     * @return true if the search gave up because its thread was interrupted, in which case the result is incomplete
+     */
+    boolean isInterrupted() {
+        return interrupted;
+    }
+
+    /**
+     * @return true if the search should stop because the limit of solutions has been reached
+     */
+    private boolean search(int[] cells, int[] used) {
+        int bestCell;
+        while (true) {
+            boolean changed = false;
+            bestCell = -1;
+            int bestCount = Integer.MAX_VALUE;
+
+            // naked singles, remembering the cell with the fewest candidates on the way
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (cells[cell] != 0) {
+                    continue;
+                }
+                int candidates = candidates(cell, used);
+                if (candidates == 0) {
+                    return false;
+                }
+                if ((candidates & (candidates - 1)) == 0) {
+                    place(cells, used, cell, candidates);
+                    changed = true;
+                } else {
+                    int count = Integer.bitCount(candidates);
+                    if (count < bestCount) {
+                        bestCount = count;
+                        bestCell = cell;
+                    }
+                }
+            }
+            if (changed) {
+                continue;
+            }
+            if (bestCell < 0) {
+                break;
+            }
+
+            // hidden singles
+            for (int unit = 0; unit < layout.units.length; unit++) {
+                int once = 0;
+                int twice = 0;
+                for (int cell : layout.units[unit]) {
+                    if (cells[cell] == 0) {
+                        int candidates = candidates(cell, used);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                }
+                if ((once | used[unit]) != all) {
+                    // some number has no place left in this unit
+                    return false;
+                }
+                int only = once & ~twice;
+                while (only != 0) {
+                    int bit = only & -only;
+                    only ^= bit;
+                    int target = -1;
+                    for (int cell : layout.units[unit]) {
+                        if (cells[cell] == 0 && (candidates(cell, used) & bit) != 0) {
+                            target = cell;
+                            break;
+                        }
+                    }
+                    if (target < 0) {
+                        return false;
+                    }
+                    place(cells, used, target, bit);
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+
+        if (bestCell < 0) {
+            if (solutions++ == 0) {
+                solution = cells;
+            }
+            return solutions >= limit;
+        }
+
+        // checked on branches only, every other node is bounded by the propagation above
+        if (Thread.currentThread().isInterrupted()) {
+            interrupted = true;
+            return true;
+        }
+
+        int candidates = candidates(bestCell, used);
+        int count = Integer.bitCount(candidates);
+        int[] bits = new int[count];
+        for (int i = 0; i < count; i++) {
+            bits[i] = candidates & -candidates;
+            candidates ^= bits[i];
+        }
+        if (random != null) {
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = bits[i];
+                bits[i] = bits[j];
+                bits[j] = tmp;
+            }
+        }
+        for (int bit : bits) {
+            int[] nextCells = cells.clone();
+            int[] nextUsed = used.clone();
+            place(nextCells, nextUsed, bestCell, bit);
+            if (search(nextCells, nextUsed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int candidates(int cell, int[] used) {
+        return all & ~(used[layout.row[cell]] | used[layout.column[cell]] | used[layout.square[cell]]);
+    }
+
+    private void place(int[] cells, int[] used, int cell, int bit) {
+        cells[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+        layout.use(used, cell, bit);
+    }
+
+    /**
+     * The units of every cell and the cells of every unit of a geometry, where the units are the rows,
+     * the columns and the squares in that order, with the same indexes as the used masks.
+     */
+    private static final class Layout {
+
+        // the index of the row, column and square unit of every cell
+        private final int[] row;
+        private final int[] column;
+        private final int[] square;
+
+        // the cells of every unit
+        private final int[][] units;
+
+        private Layout(BoardGeometry geometry) {
+            int size = geometry.getSize();
+            int cellCount = geometry.getCells();
+            row = new int[cellCount];
+            column = new int[cellCount];
+            square = new int[cellCount];
+            units = new int[3 * size][size];
+            int[] unitSizes = new int[3 * size];
+            for (int cell = 0; cell < cellCount; cell++) {
+                row[cell] = cell / size;
+                column[cell] = size + cell % size;
+                square[cell] = 2 * size + geometry.squareIndex(cell / size, cell % size);
+                units[row[cell]][unitSizes[row[cell]]++] = cell;
+                units[column[cell]][unitSizes[column[cell]]++] = cell;
+                units[square[cell]][unitSizes[square[cell]]++] = cell;
+            }
+        }
+
+        private void use(int[] used, int cell, int bit) {
+            used[row[cell]] |= bit;
+            used[column[cell]] |= bit;
+            used[square[cell]] |= bit;
+        }
+    }
+
+}
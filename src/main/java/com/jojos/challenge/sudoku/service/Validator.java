@@ -1,6 +1,8 @@
 package com.jojos.challenge.sudoku.service;
 
 
+import com.jojos.challenge.sudoku.domain.MoveSequence;
+import com.jojos.challenge.sudoku.domain.SequenceResult;
 import com.jojos.challenge.sudoku.domain.SudokuMove;
 import com.jojos.challenge.sudoku.domain.ValidationResult;
 
@@ -13,4 +15,25 @@ public interface Validator {
 
     ValidationResult validateSudokuMove(SudokuMove sudokuMove);
 
+    /**
+     * Validate the moves of a game one after the other on the same board, stopping at the first move that is
+     * invalid or finishes the board. Engines override this to resolve the board once and apply the moves to what
+     * they resolved, this default validates every move on its own and so resolves the board once per move.
+     * @param moveSequence the starting board, which gets every valid move, and the moves in the order they were made
+     * @return the first invalid move, if any, and the result of the last move looked at
+     */
+    default SequenceResult validateSequence(MoveSequence moveSequence) {
+        short[][] board = moveSequence.getBoard();
+        return MoveSequences.validate(moveSequence.getMoves(), board.length,
+                (number, point) -> validateSudokuMove(new SudokuMove(board, number, point)));
+    }
+
+    /**
+     * Implementations that keep state between calls or are bound to the current request must override this method.
+     * @return a validator that can validate any number of moves concurrently and from any thread
+     */
+    default Validator threadSafe() {
+        return this;
+    }
+
 }
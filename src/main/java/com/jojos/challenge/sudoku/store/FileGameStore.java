@@ -0,0 +1,470 @@
+package com.jojos.challenge.sudoku.store;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keeps the games in a memory-mapped file, so that they outlive the instance and every instance on the same host
+ * that is configured with the same file shares them. Only 9x9 boards fit, packed at 4 bits per cell.
+ * The file has a header followed by twice as many fixed size slots as the most games kept, laid out as
+ * <pre>
+ * header  0  magic             4 bytes
+ *         4  slot count        4 bytes
+ *         8  games kept        4 bytes
+ *        12  removed slots     4 bytes
+ *        16  generation        4 bytes, odd while the slots are compacted
+ *        20  reserved          44 bytes
+ * slot    0  state             1 byte, free, used or removed
+ *         1  game id           16 bytes, the uuid of the game
+ *        17  last access       8 bytes, milliseconds since the epoch
+ *        25  board             41 bytes, packed as in {@link BoardCodec#pack}
+ *        66  reserved          6 bytes
+ * </pre>
+ * A game goes to the first slot that is not used, starting from the slot picked by the hash of its id, and is looked up
+ * the same way until a free slot. Removed slots are reused, and lookups go on past them. Once more than a quarter of
+ * the slots are removed, which would make a lookup of a game that is not kept walk ever longer, the slots are compacted:
+ * the games kept are put back in their slots as if they were created anew and every other slot is free again.
+ * Compacting locks the whole file and moves games between slots, so it bumps the generation in the header twice,
+ * and lookups and creations that run into it start over.
+ * <p>
+ * Every slot, and the header, is locked with a {@link FileLock} on its region of the file while it is changed,
+ * which guards it against the other instances. File locks are held on behalf of the whole JVM, so threads of this
+ * instance first lock a stripe of slots in memory. The slots are found without any file lock and checked again
+ * once locked, so a game removed in the mean time is seen as removed.
+ * It is selected by setting the property {@code sudoku.games.store=file}.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+@ConditionalOnProperty(name = "sudoku.games.store", havingValue = "file")
+public class FileGameStore implements GameStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileGameStore.class);
+
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 72;
+
+    // "SDKG"
+    private static final int MAGIC = 0x53444B47;
+    private static final int SLOT_COUNT = 4;
+    private static final int SIZE = 8;
+    private static final int REMOVED_SLOTS = 12;
+    private static final int GENERATION = 16;
+
+    private static final int STATE = 0;
+    private static final int ID = 1;
+    private static final int LAST_ACCESS = 17;
+    private static final int BOARD = 25;
+
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+    private static final byte REMOVED = 2;
+
+    private final Path file;
+    private final int maxSize;
+    private final int slots;
+    private final Object headerLock = new Object();
+    private final Object[] locks;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    /**
+     * @param file the file of the store, created if it doesn't exist
+     * @param maxSize the most games kept, every instance sharing the file must be configured with the same
+     */
+    @Autowired
+    public FileGameStore(@Value("${sudoku.games.file}") String file,
+                         @Value("${sudoku.games.max-size}") int maxSize) {
+        this.file = Paths.get(file);
+        this.maxSize = maxSize;
+        // at most half of the slots are ever used, which keeps the probes short
+        this.slots = 2 * maxSize;
+        this.locks = new Object[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+            if (channel.size() != 0 && channel.size() != size) {
+                throw new IllegalStateException(String.format("Game store %s has %d bytes instead of the %d bytes of %d games",
+                        file, channel.size(), size, maxSize));
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) == 0) {
+                buffer.putInt(SLOT_COUNT, slots);
+                buffer.putInt(SIZE, 0);
+                buffer.putInt(0, MAGIC);
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(SLOT_COUNT) != slots) {
+                throw new IllegalStateException(String.format("%s is not a game store of %d games", file, maxSize));
+            }
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        log.info("Keeping up to {} games in {}, {} of them kept already", maxSize, file.toAbsolutePath(), size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    @Override
+    public boolean create(String id, short[][] board) throws ApplicationException {
+        if (!BoardCodec.isClassic(board)) {
+            throw new ApplicationException("Only games of 9x9 boards can be kept in the game store file");
+        }
+        UUID uuid = UUID.fromString(id);
+        byte[] packed = new byte[BoardCodec.PACKED_SIZE];
+        BoardCodec.pack(board, packed, 0);
+        if (!reserve()) {
+            return false;
+        }
+        int home = home(uuid);
+        probing:
+        for (;;) {
+            int generation = stableGeneration();
+            for (int probe = 0; probe < slots; probe++) {
+                int slot = (home + probe) % slots;
+                byte state;
+                synchronized (lockOf(slot)) {
+                    if (state(slot) == USED) {
+                        continue;
+                    }
+                    FileLock lock = lock(slot);
+                    try {
+                        // the slots passed so far may have been compacted away, the game would not be found here
+                        if (generation() != generation) {
+                            continue probing;
+                        }
+                        state = state(slot);
+                        if (state == USED) {
+                            continue;
+                        }
+                        int offset = offset(slot);
+                        buffer.putLong(offset + ID, uuid.getMostSignificantBits());
+                        buffer.putLong(offset + ID + 8, uuid.getLeastSignificantBits());
+                        buffer.putLong(offset + LAST_ACCESS, System.currentTimeMillis());
+                        put(offset + BOARD, packed);
+                        buffer.put(offset + STATE, USED);
+                    } finally {
+                        unlock(lock);
+                    }
+                }
+                if (state == REMOVED) {
+                    count(REMOVED_SLOTS, -1);
+                }
+                return true;
+            }
+            // can't happen while no more than half of the slots are used
+            count(SIZE, -1);
+            return false;
+        }
+    }
+
+    @Override
+    public <T> T update(String id, Function<GameBoard, T> action) {
+        UUID uuid = parse(id);
+        if (uuid == null) {
+            return null;
+        }
+        for (;;) {
+            int generation = stableGeneration();
+            int slot = find(uuid);
+            if (slot >= 0) {
+                int offset = offset(slot);
+                synchronized (lockOf(slot)) {
+                    FileLock lock = lock(slot);
+                    try {
+                        if (state(slot) == USED && holds(slot, uuid)) {
+                            byte[] packed = new byte[BoardCodec.PACKED_SIZE];
+                            get(offset + BOARD, packed);
+                            short[][] board = BoardCodec.unpack(packed, 0);
+                            // the slot may have been changed by another instance, nothing derived from it is kept
+                            T result = action.apply(new GameBoard(board));
+                            BoardCodec.pack(board, packed, 0);
+                            put(offset + BOARD, packed);
+                            buffer.putLong(offset + LAST_ACCESS, System.currentTimeMillis());
+                            return result;
+                        }
+                    } finally {
+                        unlock(lock);
+                    }
+                }
+            }
+            // the game may have been moved by compacting the slots while it was looked up
+            if (generation() == generation) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public int evictIdle(long accessedBeforeMillis) {
+        int evicted = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            int offset = offset(slot);
+            synchronized (lockOf(slot)) {
+                if (state(slot) != USED || buffer.getLong(offset + LAST_ACCESS) >= accessedBeforeMillis) {
+                    continue;
+                }
+                FileLock lock = lock(slot);
+                try {
+                    if (state(slot) == USED && buffer.getLong(offset + LAST_ACCESS) < accessedBeforeMillis) {
+                        buffer.put(offset + STATE, REMOVED);
+                        evicted++;
+                    }
+                } finally {
+                    unlock(lock);
+                }
+            }
+        }
+        if (evicted > 0) {
+            count(SIZE, -evicted);
+            if (count(REMOVED_SLOTS, evicted) > slots / 4) {
+                compact();
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public int size() {
+        synchronized (headerLock) {
+            return buffer.getInt(SIZE);
+        }
+    }
+
+    /**
+     * @return the slot of the game or -1 if it is not kept
+     */
+    private int find(UUID uuid) {
+        int home = home(uuid);
+        for (int probe = 0; probe < slots; probe++) {
+            int slot = (home + probe) % slots;
+            synchronized (lockOf(slot)) {
+                byte state = state(slot);
+                if (state == FREE) {
+                    return -1;
+                }
+                if (state == USED && holds(slot, uuid)) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Count a new game in the header
+     * @return false if the store is full
+     */
+    private boolean reserve() {
+        synchronized (headerLock) {
+            try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+                int size = buffer.getInt(SIZE);
+                if (size >= maxSize) {
+                    return false;
+                }
+                buffer.putInt(SIZE, size + 1);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Add to a count of the header
+     * @return the new count
+     */
+    private int count(int field, int delta) {
+        synchronized (headerLock) {
+            try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+                int count = buffer.getInt(field) + delta;
+                buffer.putInt(field, count);
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Put every game kept back in its slot as if it was created anew, making every other slot free, unless another
+     * instance did already. Holds every lock of this instance and locks the whole file while it runs.
+     */
+    private void compact() {
+        synchronizedOnLocks(0, () -> {
+            synchronized (headerLock) {
+                try (FileLock ignored = channel.lock(0, HEADER_SIZE + (long) slots * SLOT_SIZE, false)) {
+                    if (buffer.getInt(REMOVED_SLOTS) <= slots / 4) {
+                        return;
+                    }
+                    int generation = buffer.getInt(GENERATION);
+                    buffer.putInt(GENERATION, generation + 1);
+                    List<byte[]> games = new ArrayList<>(buffer.getInt(SIZE));
+                    for (int slot = 0; slot < slots; slot++) {
+                        if (state(slot) == USED) {
+                            byte[] game = new byte[SLOT_SIZE];
+                            get(offset(slot), game);
+                            games.add(game);
+                        }
+                        buffer.put(offset(slot) + STATE, FREE);
+                    }
+                    for (byte[] game : games) {
+                        ByteBuffer bytes = ByteBuffer.wrap(game);
+                        int slot = home(new UUID(bytes.getLong(ID), bytes.getLong(ID + 8)));
+                        while (state(slot) != FREE) {
+                            slot = (slot + 1) % slots;
+                        }
+                        put(offset(slot), game);
+                    }
+                    buffer.putInt(REMOVED_SLOTS, 0);
+                    buffer.putInt(GENERATION, generation + 2);
+                    log.info("Compacted the slots of {} games in {}", games.size(), file.toAbsolutePath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private void synchronizedOnLocks(int from, Runnable runnable) {
+        if (from == locks.length) {
+            runnable.run();
+            return;
+        }
+        synchronized (locks[from]) {
+            synchronizedOnLocks(from + 1, runnable);
+        }
+    }
+
+    private int generation() {
+        return buffer.getInt(GENERATION);
+    }
+
+    /**
+     * @return the generation of the slots once they are not being compacted
+     */
+    private int stableGeneration() {
+        int generation;
+        while (((generation = generation()) & 1) != 0) {
+            Thread.yield();
+        }
+        return generation;
+    }
+
+    /**
+     * @return how many slots a lookup of the game looks at, up to the slot of the game or the first free slot
+     */
+    int probeLength(UUID uuid) {
+        int home = home(uuid);
+        for (int probe = 0; probe < slots; probe++) {
+            int slot = (home + probe) % slots;
+            synchronized (lockOf(slot)) {
+                byte state = state(slot);
+                if (state == FREE || state == USED && holds(slot, uuid)) {
+                    return probe + 1;
+                }
+            }
+        }
+        return slots;
+    }
+
+    private FileLock lock(int slot) {
+        try {
+            return channel.lock(offset(slot), SLOT_SIZE, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void unlock(FileLock lock) {
+        try {
+            lock.release();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object lockOf(int slot) {
+        return locks[slot & (locks.length - 1)];
+    }
+
+    private byte state(int slot) {
+        return buffer.get(offset(slot) + STATE);
+    }
+
+    private boolean holds(int slot, UUID uuid) {
+        int offset = offset(slot);
+        return buffer.getLong(offset + ID) == uuid.getMostSignificantBits()
+                && buffer.getLong(offset + ID + 8) == uuid.getLeastSignificantBits();
+    }
+
+    private int home(UUID uuid) {
+        long hash = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) slots);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private void get(int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+    }
+
+    private void put(int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(offset + i, bytes[i]);
+        }
+    }
+
+    /**
+     * @return the uuid or null if the id is not one, in which case it can't be the id of any game
+     */
+    private static UUID parse(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.jojos.challenge.sudoku.store;
+
+/**
+ * The board of a game as a {@link GameStore} hands it to an update, together with the state the updates derive from
+ * the board, e.g. its resolved occupancy, so that the next update can pick it up instead of deriving it again.
+ * Stores that keep their games in the heap keep the derived state with the board, the others hand out the board
+ * alone every time, since the board may have been changed elsewhere in the mean time.
+ * Only valid within the update it was handed to.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public final class GameBoard {
+
+    private final short[][] board;
+    private Object derived;
+
+    GameBoard(short[][] board) {
+        this.board = board;
+    }
+
+    /**
+     * @return the board of the game, which the update may modify in place
+     */
+    public short[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * @param type the type of the derived state
+     * @return the state derived from the board as it is now, or null if there is none of that type
+     */
+    public <S> S getDerived(Class<S> type) {
+        return type.isInstance(derived) ? type.cast(derived) : null;
+    }
+
+    /**
+     * @param derived the state derived from the board, which the update keeps in step with every change of the board
+     */
+    public void setDerived(Object derived) {
+        this.derived = derived;
+    }
+
+}
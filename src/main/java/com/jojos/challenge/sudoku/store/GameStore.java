@@ -0,0 +1,48 @@
+package com.jojos.challenge.sudoku.store;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+
+import java.util.function.Function;
+
+/**
+ * Where the games kept on the server side live between moves: the board of every game and the time it was last
+ * accessed, by the id of the game. The implementation is selected by the property {@code sudoku.games.store},
+ * see {@link InMemoryGameStore} and {@link FileGameStore}.
+ * Implementations are thread-safe and every update of a game is atomic in regards to any other access to the same game.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+public interface GameStore {
+
+    /**
+     * Add a new game.
+     * @param id the id of the game, a random uuid
+     * @param board the initial board of the game, the store keeps a copy of its own
+     * @return true if the game was added, false if the store is full
+     * @throws ApplicationException if the store can't keep a board of that size
+     */
+    boolean create(String id, short[][] board) throws ApplicationException;
+
+    /**
+     * Read, modify and write back the board of a game as a single step, marking the game as accessed.
+     * Nothing is written back if the action throws, so it must throw before it modifies anything.
+     * @param id the id of the game
+     * @param action gets the board of the game, which it may modify in place along with the state derived from it,
+     * and returns the result of the update. It must not keep the board or return null.
+     * @return the result of the action or null if there is no such game
+     */
+    <T> T update(String id, Function<GameBoard, T> action);
+
+    /**
+     * Remove every game that was not accessed since the given time.
+     * @param accessedBeforeMillis milliseconds since the epoch
+     * @return the number of games removed
+     */
+    int evictIdle(long accessedBeforeMillis);
+
+    /**
+     * @return the number of games kept
+     */
+    int size();
+
+}
@@ -0,0 +1,109 @@
+package com.jojos.challenge.sudoku.store;
+
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps the games in the heap of this instance, boards of every size.
+ * Games are spread over a number of stripes by the hash of their ids, every stripe is a {@link HashMap} guarded
+ * by its own lock, so moves on different games only contend when the games land on the same stripe.
+ * The state the updates derive from a board is kept with it, see {@link GameBoard}, so moves are applied to the
+ * occupancy resolved when the game was first moved on instead of resolving the board again.
+ * This is the store used unless the property {@code sudoku.games.store} selects another one.
+ *
+ * Created by karanikasg@gmail.com.
+ */
+@Component
+@ConditionalOnProperty(name = "sudoku.games.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryGameStore implements GameStore {
+
+    private final Stripe[] stripes;
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxSize;
+
+    /**
+     * @param maxSize the most games kept
+     */
+    @Autowired
+    public InMemoryGameStore(@Value("${sudoku.games.max-size}") int maxSize) {
+        this.maxSize = maxSize;
+        // a power of two, so that the stripe is picked by the low bits of the hash
+        this.stripes = new Stripe[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public boolean create(String id, short[][] board) {
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            return false;
+        }
+        Stripe stripe = stripeOf(id);
+        synchronized (stripe) {
+            stripe.put(id, new Entry(new GameBoard(SudokuUtils.copyOf(board)), System.currentTimeMillis()));
+        }
+        return true;
+    }
+
+    @Override
+    public <T> T update(String id, Function<GameBoard, T> action) {
+        Stripe stripe = stripeOf(id);
+        synchronized (stripe) {
+            Entry entry = stripe.get(id);
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccessMillis = System.currentTimeMillis();
+            return action.apply(entry.board);
+        }
+    }
+
+    @Override
+    public int evictIdle(long accessedBeforeMillis) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                int sizeBefore = stripe.size();
+                stripe.values().removeIf(entry -> entry.lastAccessMillis < accessedBeforeMillis);
+                evicted += sizeBefore - stripe.size();
+            }
+        }
+        size.addAndGet(-evicted);
+        return evicted;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    private Stripe stripeOf(String id) {
+        int hash = id.hashCode();
+        // spread the high bits, the stripe is picked by the low ones
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Entry {
+
+        private final GameBoard board;
+        private long lastAccessMillis;
+
+        private Entry(GameBoard board, long lastAccessMillis) {
+            this.board = board;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    private static final class Stripe extends HashMap<String, Entry> {
+    }
+
+}
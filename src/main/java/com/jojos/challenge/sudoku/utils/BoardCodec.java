@@ -0,0 +1,113 @@
+package com.jojos.challenge.sudoku.utils;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+
+/**
+ * Static helper methods to encode 9x9 boards in compact forms.
+ * The text form is the common 81 character one, every cell in row major order as a single digit
+ * with 0 (or '.' when reading) for an empty cell.
+ * The packed form takes 4 bits per cell, two cells per byte with the first cell in the high nibble, 41 bytes in total.
+ * Both forms are fixed size and only cover the classic board, boards of other sizes are rejected.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class BoardCodec {
+
+    public static final int CELLS = 81;
+    public static final int PACKED_SIZE = (CELLS + 1) / 2;
+
+    /**
+     * @param board a 9x9 board with values 0-9
+     * @return the 81 character text form of the board
+     * @throws ApplicationException if the board is not 9x9
+     */
+    public static String toText(short[][] board) throws ApplicationException {
+        checkClassic(board);
+        char[] text = new char[CELLS];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                text[i * 9 + j] = (char) ('0' + board[i][j]);
+            }
+        }
+        return new String(text);
+    }
+
+    /**
+     * @param text the 81 character text form of a board
+     * @return a new 9x9 board
+     * @throws ApplicationException if the text is not exactly 81 digits or dots
+     */
+    public static short[][] fromText(CharSequence text) throws ApplicationException {
+        if (text.length() != CELLS) {
+            throw new ApplicationException(String.format("Board text has %d characters instead of %d", text.length(), CELLS));
+        }
+        short[][] board = new short[9][9];
+        for (int cell = 0; cell < CELLS; cell++) {
+            char c = text.charAt(cell);
+            if (c == '.') {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new ApplicationException(String.format("Character '%c' on board is not between permitted values", c));
+            }
+            board[cell / 9][cell % 9] = (short) (c - '0');
+        }
+        return board;
+    }
+
+    /**
+     * @param board a 9x9 board with values 0-9
+     * @param bytes where to write the packed form of the board
+     * @param offset the index of the first of the {@link #PACKED_SIZE} bytes to write
+     * @throws ApplicationException if the board is not 9x9
+     */
+    public static void pack(short[][] board, byte[] bytes, int offset) throws ApplicationException {
+        checkClassic(board);
+        for (int cell = 0; cell < CELLS; cell += 2) {
+            int high = board[cell / 9][cell % 9];
+            int low = cell + 1 < CELLS ? board[(cell + 1) / 9][(cell + 1) % 9] : 0;
+            bytes[offset + cell / 2] = (byte) (high << 4 | low);
+        }
+    }
+
+    /**
+     * @param bytes the packed form of a board
+     * @param offset the index of the first of the {@link #PACKED_SIZE} bytes to read
+     * @return a new 9x9 board
+     * @throws ApplicationException if any cell is not between 0-9
+     */
+    public static short[][] unpack(byte[] bytes, int offset) throws ApplicationException {
+        short[][] board = new short[9][9];
+        for (int cell = 0; cell < CELLS; cell++) {
+            int b = bytes[offset + cell / 2];
+            int value = (cell & 1) == 0 ? (b >> 4) & 0xF : b & 0xF;
+            if (value > 9) {
+                throw new ApplicationException(String.format("Value %d on board is not between permitted values", value));
+            }
+            board[cell / 9][cell % 9] = (short) value;
+        }
+        return board;
+    }
+
+    /**
+     * @return true if the board is 9x9, the only size the compact forms cover
+     */
+    public static boolean isClassic(short[][] board) {
+        if (board.length != 9) {
+            return false;
+        }
+        for (short[] row : board) {
+            if (row.length != 9) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void checkClassic(short[][] board) throws ApplicationException {
+        if (!isClassic(board)) {
+            throw new ApplicationException("Compact forms only support 9x9 boards");
+        }
+    }
+
+}
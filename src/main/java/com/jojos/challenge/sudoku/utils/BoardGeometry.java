@@ -0,0 +1,134 @@
+package com.jojos.challenge.sudoku.utils;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+
+/**
+ * The shape of a square sudoku board made of size x size cells, split into size squares of box x box cells
+ * where size = box * box. Boxes of 2 up to 5 are supported, i.e. 4x4, 9x9, 16x16 and 25x25 boards.
+ * The size of a board is never configured, it always comes from the board itself, see {@link #of(short[][])}.
+ * Numbers go from 1 to size, so the numbers used in a row, column or square always fit in an int mask
+ * where bit (n - 1) is set if number n is used.
+ * Instances are immutable and shared.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public final class BoardGeometry {
+
+    public static final int MIN_BOX = 2;
+    public static final int MAX_BOX = 5;
+    public static final int MAX_SIZE = MAX_BOX * MAX_BOX;
+
+    private static final BoardGeometry[] GEOMETRIES = new BoardGeometry[MAX_BOX + 1];
+
+    static {
+        for (int box = MIN_BOX; box <= MAX_BOX; box++) {
+            GEOMETRIES[box] = new BoardGeometry(box);
+        }
+    }
+
+    /**
+     * The geometry of the classic 9x9 board
+     */
+    public static final BoardGeometry CLASSIC = GEOMETRIES[3];
+
+    private final int box;
+    private final int size;
+    private final int cells;
+    private final int allNumbers;
+    private final short[][] squareIndexes;
+
+    private BoardGeometry(int box) {
+        this.box = box;
+        this.size = box * box;
+        this.cells = size * size;
+        this.allNumbers = (1 << size) - 1;
+        this.squareIndexes = new short[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                squareIndexes[i][j] = (short) ((i / box) * box + j / box);
+            }
+        }
+    }
+
+    /**
+     * @param board a board of any supported size
+     * @return the geometry of the board
+     * @throws ApplicationException if the board is not square or its size is not one of the supported ones
+     */
+    public static BoardGeometry of(short[][] board) throws ApplicationException {
+        BoardGeometry geometry = ofSize(board.length);
+        if (geometry == null) {
+            throw new ApplicationException(String.format("Board has %d rows instead of one of 4, 9, 16 or 25", board.length));
+        }
+        for (int i = 0; i < board.length; i++) {
+            if (board[i].length != board.length) {
+                throw new ApplicationException(String.format("Row %d has %d columns instead of %d", i, board[i].length, board.length));
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * @param size the number of rows and columns of a board
+     * @return the geometry of a board of that size or null if the size is not supported
+     */
+    public static BoardGeometry ofSize(int size) {
+        int box = (int) Math.round(Math.sqrt(size));
+        return box >= MIN_BOX && box <= MAX_BOX && box * box == size ? GEOMETRIES[box] : null;
+    }
+
+    /**
+     * @return the number of rows and columns of a square
+     */
+    public int getBox() {
+        return box;
+    }
+
+    /**
+     * @return the number of rows and columns of the board, which is also the highest number that can be placed
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of cells of the board
+     */
+    public int getCells() {
+        return cells;
+    }
+
+    /**
+     * @return the mask having the bits of every number set
+     */
+    public int getAllNumbers() {
+        return allNumbers;
+    }
+
+    /**
+     * @return the index of the square that the given cell belongs to, squares are numbered in row major order
+     */
+    public short squareIndex(int row, int column) {
+        return squareIndexes[row][column];
+    }
+
+    /**
+     * @return the row of the k-th cell of the given square, cells in a square are numbered in row major order
+     */
+    public int squareRow(int square, int k) {
+        return (square / box) * box + k / box;
+    }
+
+    /**
+     * @return the column of the k-th cell of the given square, cells in a square are numbered in row major order
+     */
+    public int squareColumn(int square, int k) {
+        return (square % box) * box + k % box;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.jojos.challenge.sudoku.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Describes how long the JVM took to get where it is and how much memory it holds, logged once the application is
+ * ready to serve so that the launch modes can be compared, see {@link com.jojos.challenge.sudoku.Application}.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public final class Footprint {
+
+    private static final long MB = 1024 * 1024;
+
+    private Footprint() {
+    }
+
+    /**
+     * @return the time since the JVM started, the heap and non-heap memory used and the number of classes loaded
+     */
+    public static String describe() {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        return String.format("JVM up for %d ms, %d MB heap used of %d MB committed, %d MB non-heap used, %d classes loaded",
+                uptime, memory.getHeapMemoryUsage().getUsed() / MB, memory.getHeapMemoryUsage().getCommitted() / MB,
+                memory.getNonHeapMemoryUsage().getUsed() / MB,
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+    }
+
+}
@@ -33,8 +33,23 @@ public class SudokuUtils {
             {6, 6, 6,    7, 7, 7,    8, 8, 8},
             {6, 6, 6,    7, 7, 7,    8, 8, 8}};
 
+    /**
+     * @return a copy of our default sudoku board, so that moves on it never affect the default one
+     */
     public static short[][] getSudokuTable() {
-        return DEFAULT_SUDOKU;
+        return copyOf(DEFAULT_SUDOKU);
+    }
+
+    /**
+     * @param board the board to copy
+     * @return a deep copy of the given board, so that it can be modified without affecting the original one
+     */
+    public static short[][] copyOf(short[][] board) {
+        short[][] copy = new short[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
     }
 
 }
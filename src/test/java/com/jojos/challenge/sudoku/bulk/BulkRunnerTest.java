@@ -0,0 +1,95 @@
+package com.jojos.challenge.sudoku.bulk;
+
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.service.DefaultSolver;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link BulkRunner}, with chunks small enough that every file is split into many of them.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class BulkRunnerTest {
+
+    private static final int REPEAT = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void solve() throws Exception {
+        List<String> lines = run(BulkRunner.Mode.SOLVE, new BulkRunner.Outcome[]{
+                BulkRunner.Outcome.SOLVED, BulkRunner.Outcome.NO_SOLUTION, BulkRunner.Outcome.ERROR, BulkRunner.Outcome.ERROR});
+        String solution = BoardCodec.toText(new DefaultSolver().solve(new Board(TestSudokuHelper.VALID_INITIAL_SUDOKU)).getBoard());
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals(solution, lines.get(5 * i));
+            assertEquals("NO_SOLUTION", lines.get(5 * i + 1));
+            assertTrue(lines.get(5 * i + 2).startsWith("ERROR Can't solve an invalid board"));
+            assertEquals("", lines.get(5 * i + 3));
+            assertEquals("ERROR Board text has 3 characters instead of 81", lines.get(5 * i + 4));
+        }
+    }
+
+    @Test
+    public void validate() throws Exception {
+        List<String> lines = run(BulkRunner.Mode.VALIDATE, new BulkRunner.Outcome[]{
+                BulkRunner.Outcome.VALID, BulkRunner.Outcome.VALID, BulkRunner.Outcome.INVALID, BulkRunner.Outcome.ERROR});
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals("VALID", lines.get(5 * i));
+            assertEquals("VALID", lines.get(5 * i + 1));
+            assertTrue(lines.get(5 * i + 2).startsWith("INVALID Duplicate value"));
+            assertEquals("", lines.get(5 * i + 3));
+            assertEquals("ERROR Board text has 3 characters instead of 81", lines.get(5 * i + 4));
+        }
+    }
+
+    /**
+     * Run over a file repeating a solvable, an unsolvable and an invalid puzzle, an empty line and a line
+     * that is not a puzzle, without a line break at the end of the file
+     * @param outcomes the expected outcomes of the four lines that are counted
+     * @return the lines of the output
+     */
+    private List<String> run(BulkRunner.Mode mode, BulkRunner.Outcome[] outcomes) throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < REPEAT; i++) {
+            input.append(BoardCodec.toText(TestSudokuHelper.VALID_INITIAL_SUDOKU)).append('\n')
+                    .append(BoardCodec.toText(TestSudokuHelper.UNSOLVABLE_SUDOKU)).append("\r\n")
+                    .append(BoardCodec.toText(TestSudokuHelper.INVALID_SUDOKU)).append('\n')
+                    .append('\n')
+                    .append("abc");
+            if (i < REPEAT - 1) {
+                input.append('\n');
+            }
+        }
+        Path in = folder.getRoot().toPath().resolve("puzzles.txt");
+        Path out = folder.getRoot().toPath().resolve("results.txt");
+        Files.write(in, input.toString().getBytes(StandardCharsets.US_ASCII));
+
+        BulkRunner.Summary summary = BulkRunner.run(mode, in, out, 2, 200);
+
+        assertEquals(4 * REPEAT, summary.total());
+        for (BulkRunner.Outcome outcome : BulkRunner.Outcome.values()) {
+            long expected = 0;
+            for (BulkRunner.Outcome line : outcomes) {
+                expected += line == outcome ? REPEAT : 0;
+            }
+            assertEquals(outcome.name(), expected, summary.count(outcome));
+        }
+        List<String> lines = Files.readAllLines(out, StandardCharsets.US_ASCII);
+        assertEquals(5 * REPEAT, lines.size());
+        return lines;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.jojos.challenge.sudoku.control;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link AdmissionLimiter}, requests beyond the limit must wait their turn or be turned down,
+ * and an adaptive limit must follow the latency.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class AdmissionLimiterTest {
+
+    @Test
+    public void fullQueueIsTurnedDownRightAway() {
+        AdmissionLimiter limiter = new AdmissionLimiter("test", 1, 1, 1, 0, 10_000, 3, false, 2.0);
+        limiter.acquire();
+        long start = System.nanoTime();
+        assertRejected(limiter, HttpStatus.TOO_MANY_REQUESTS);
+        assertEquals(0, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    @Test
+    public void waitingInVainIsTurnedDown() {
+        AdmissionLimiter limiter = new AdmissionLimiter("test", 1, 1, 1, 1, 50, 3, false, 2.0);
+        limiter.acquire();
+        assertRejected(limiter, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    public void waitingRequestIsLetInOnRelease() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter("test", 1, 1, 1, 1, 10_000, 3, false, 2.0);
+        limiter.acquire();
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(limiter::acquire);
+        Thread.sleep(50);
+        limiter.release(0);
+        waiting.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void adaptiveLimitFollowsTheLatency() {
+        AdmissionLimiter limiter = new AdmissionLimiter("test", 10, 5, 20, 0, 0, 1, true, 2.0);
+        // windows of fully used limit at a steady latency let the limit grow
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter, 1_000_000);
+        }
+        assertEquals(15, limiter.getLimit());
+
+        // windows four times slower make it drop down to the minimum
+        for (int window = 0; window < 10; window++) {
+            runWindow(limiter, 4_000_000);
+        }
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void fixedLimitIgnoresTheLatency() {
+        AdmissionLimiter limiter = new AdmissionLimiter("test", 10, 5, 20, 0, 0, 1, false, 2.0);
+        runWindow(limiter, 1_000_000);
+        // a stream running for an hour
+        for (int window = 0; window < 10; window++) {
+            runWindow(limiter, TimeUnit.HOURS.toNanos(1));
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private static void runWindow(AdmissionLimiter limiter, long latencyNanos) {
+        int limit = limiter.getLimit();
+        for (int i = 0; i < limit; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < limit; i++) {
+            limiter.release(latencyNanos);
+        }
+    }
+
+    private static void assertRejected(AdmissionLimiter limiter, HttpStatus status) {
+        try {
+            limiter.acquire();
+            fail("Request should have been turned down");
+        } catch (AdmissionRejectedException e) {
+            assertEquals(status, e.getStatus());
+            assertEquals(3, e.getRetryAfterSeconds());
+        }
+    }
+
+}
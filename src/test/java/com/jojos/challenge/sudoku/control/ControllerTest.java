@@ -1,28 +1,46 @@
 package com.jojos.challenge.sudoku.control;
 
 import com.jojos.challenge.sudoku.Application;
+import com.jayway.jsonpath.JsonPath;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.MoveSequence;
 import com.jojos.challenge.sudoku.domain.Point;
 import com.jojos.challenge.sudoku.domain.SudokuMove;
 import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
 import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationResultBuilder;
@@ -38,11 +56,18 @@ import static com.jojos.challenge.sudoku.utils.TestSudokuHelper.asJsonString;
 @RunWith(SpringJUnit4ClassRunner.class)
 @SpringApplicationConfiguration(classes = Application.class)
 @WebAppConfiguration
+@TestPropertySource(properties = "sudoku.journal.dir=target/journal")
 public class ControllerTest {
 
     @Autowired
     private WebApplicationContext ctx;
 
+    @Autowired
+    private AdmissionInterceptor admissionInterceptor;
+
+    @Autowired
+    private SudokuMetrics metrics;
+
     private MockMvc mockMvc;
 
     @Before
@@ -63,7 +88,86 @@ public class ControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON_UTF8))
-                .andExpect(jsonPath("$.values").isArray());
+                .andExpect(jsonPath("$.values").isArray())
+                .andExpect(jsonPath("$.difficulty").isString())
+                .andExpect(jsonPath("$.score").isNumber())
+                .andExpect(jsonPath("$.id").isString());
+    }
+
+	/**
+     * Test requesting a new table of the same difficulty as one handed out before
+     * curl http://localhost:8080/sudoku/table?difficulty=EASY
+     * @throws Exception
+     */
+    @Test
+    public void getTableOfDifficulty() throws Exception {
+        String table = this.mockMvc.perform(get("/sudoku/table"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String difficulty = JsonPath.read(table, "$.difficulty");
+
+        this.mockMvc.perform(get("/sudoku/table").param("difficulty", difficulty))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.values").isArray())
+                .andExpect(jsonPath("$.difficulty").value(difficulty));
+
+        this.mockMvc.perform(get("/sudoku/table").param("difficulty", "IMPOSSIBLE"))
+                .andExpect(status().isBadRequest());
+    }
+
+	/**
+     * Test requesting a table handed out before by its id, it's cacheable for good and not sent again if it's cached
+     * curl -i http://localhost:8080/sudoku/table/{id}
+     * @throws Exception
+     */
+    @Test
+    public void getTableById() throws Exception {
+        String table = this.mockMvc.perform(get("/sudoku/table"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(table, "$.id");
+
+        String etag = "\"" + id + ".json\"";
+        this.mockMvc.perform(get("/sudoku/table/{id}", id))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(content().string(table));
+
+        this.mockMvc.perform(get("/sudoku/table/{id}", id).accept("*/*").header("If-None-Match", etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // every form has an ETag of its own, so a cached json puzzle is no reason to skip the text one
+        String textEtag = "\"" + id + ".text\"";
+        this.mockMvc.perform(get("/sudoku/table/{id}", id).accept(SudokuTextMessageConverter.MEDIA_TYPE)
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", textEtag))
+                .andExpect(content().contentTypeCompatibleWith(SudokuTextMessageConverter.MEDIA_TYPE));
+        this.mockMvc.perform(get("/sudoku/table/{id}", id).accept(SudokuBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + id + ".binary\""));
+        this.mockMvc.perform(get("/sudoku/table/{id}", id).accept(SudokuTextMessageConverter.MEDIA_TYPE)
+                .header("If-None-Match", textEtag))
+                .andExpect(status().isNotModified());
+
+        // the id of a board nobody asked for before is resolved from the board itself
+        byte[] packed = new byte[BoardCodec.PACKED_SIZE];
+        BoardCodec.pack(TestSudokuHelper.VALID_INITIAL_SUDOKU, packed, 0);
+        this.mockMvc.perform(get("/sudoku/table/{id}", Base64.getUrlEncoder().withoutPadding().encodeToString(packed)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.values[0][0]").value((int) TestSudokuHelper.VALID_INITIAL_SUDOKU[0][0]))
+                .andExpect(jsonPath("$.difficulty").isString());
+
+        this.mockMvc.perform(get("/sudoku/table/{id}", "nope"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Cache-Control"))
+                .andExpect(jsonPath("$.message").value("nope is not the id of a puzzle"));
     }
 
 	/**
@@ -85,6 +189,7 @@ public class ControllerTest {
 
         this.mockMvc.perform(
                 put("/sudoku/validate")
+                        .param("warnings", "true")
                         .contentType(APPLICATION_JSON_UTF8)
                         .content(asJsonString(sudokuMove)))
                 .andDo(print())
@@ -95,7 +200,11 @@ public class ControllerTest {
                 .andExpect(jsonPath("$.validationStatus").value("INVALID"))
                 .andExpect(jsonPath("$.state").value("BEFORE_MOVE"))
                 .andExpect(jsonPath("$.invalidityWarnings[0]").value(validationResult.getInvalidityWarnings().get(0)))
-                .andExpect(jsonPath("$.invalidityWarnings[1]").value(validationResult.getInvalidityWarnings().get(1)));
+                .andExpect(jsonPath("$.invalidityWarnings[1]").value(validationResult.getInvalidityWarnings().get(1)))
+                .andExpect(jsonPath("$.conflicts[0].type").value("ROW"))
+                .andExpect(jsonPath("$.conflicts[0].value").value(7))
+                .andExpect(jsonPath("$.conflicts[0].cell.column").value(1))
+                .andExpect(jsonPath("$.conflicts[0].conflictingCell.column").value(0));
 
     }
 
@@ -120,6 +229,7 @@ public class ControllerTest {
 
         this.mockMvc.perform(
                 put("/sudoku/validate")
+                        .param("warnings", "true")
                         .contentType(APPLICATION_JSON_UTF8)
                         .content(asJsonString(sudokuMove)))
                 .andDo(print())
@@ -131,7 +241,15 @@ public class ControllerTest {
                 .andExpect(jsonPath("$.state").value("AFTER_MOVE"))
                 .andExpect(jsonPath("$.invalidityWarnings[0]").value(validationResult.getInvalidityWarnings().get(0)))
                 .andExpect(jsonPath("$.invalidityWarnings[1]").value(validationResult.getInvalidityWarnings().get(1)))
-                .andExpect(jsonPath("$.invalidityWarnings[2]").value(validationResult.getInvalidityWarnings().get(2)));
+                .andExpect(jsonPath("$.invalidityWarnings[2]").value(validationResult.getInvalidityWarnings().get(2)))
+                .andExpect(jsonPath("$.conflicts[0].type").value("ROW"))
+                .andExpect(jsonPath("$.conflicts[0].conflictingCell.row").value(1))
+                .andExpect(jsonPath("$.conflicts[0].conflictingCell.column").value(2))
+                .andExpect(jsonPath("$.conflicts[2].type").value("SQUARE"))
+                .andExpect(jsonPath("$.conflicts[2].cell.row").value(1))
+                .andExpect(jsonPath("$.conflicts[2].cell.column").value(3))
+                .andExpect(jsonPath("$.conflicts[2].conflictingCell.row").value(2))
+                .andExpect(jsonPath("$.conflicts[2].conflictingCell.column").value(3));
 
     }
 
@@ -180,4 +298,384 @@ public class ControllerTest {
                 .andExpect(jsonPath("$.state").value("AFTER_MOVE"));
     }
 
-}
\ No newline at end of file
+    /**
+     * Test validating a batch of independent moves, the results must keep the order of the moves
+     */
+    @Test
+    public void validateBatch() throws Exception {
+        long resolved = counter("sudoku_validator_phase_duration_seconds_count{phase=\"resolve\"}");
+        long moved = counter("sudoku_validator_phase_duration_seconds_count{phase=\"move\"}");
+        this.mockMvc.perform(
+                put("/sudoku/validate/batch")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(Arrays.asList(
+                                new SudokuMove(TestSudokuHelper.INVALID_SUDOKU, (short) 3, new Point((short) 1, (short) 1)),
+                                new SudokuMove(TestSudokuHelper.VALID_INITIAL_SUDOKU, (short) 2, new Point((short) 1, (short) 3)),
+                                new SudokuMove(TestSudokuHelper.FINISHED_SUDOKU, (short) 5, new Point((short) 1, (short) 3)),
+                                new SudokuMove(TestSudokuHelper.ALMOST_FINISHED_SUDOKU, (short) 7, new Point((short) 8, (short) 8))))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+                .andExpect(jsonPath("$[0].validationStatus").value("INVALID"))
+                .andExpect(jsonPath("$[0].state").value("BEFORE_MOVE"))
+                .andExpect(jsonPath("$[1].validationStatus").value("VALID"))
+                .andExpect(jsonPath("$[1].board[1][3]").value(2))
+                .andExpect(jsonPath("$[2].validationStatus").value("FINISHED"))
+                .andExpect(jsonPath("$[2].state").value("BEFORE_MOVE"))
+                .andExpect(jsonPath("$[3].validationStatus").value("FINISHED"))
+                .andExpect(jsonPath("$[3].state").value("AFTER_MOVE"));
+        // every board is resolved once, whether by the kernel or by the validator, and two moves are made
+        assertEquals(resolved + 4, counter("sudoku_validator_phase_duration_seconds_count{phase=\"resolve\"}"));
+        assertEquals(moved + 2, counter("sudoku_validator_phase_duration_seconds_count{phase=\"move\"}"));
+    }
+
+    /**
+     * Test validating the moves of a whole game, the moves after the first invalid one must not be made
+     */
+    @Test
+    public void validateSequence() throws Exception {
+        long valid = validations("VALID", "AFTER_MOVE");
+        long invalid = validations("INVALID", "AFTER_MOVE");
+        this.mockMvc.perform(
+                put("/sudoku/validate/sequence")
+                        .param("warnings", "true")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new MoveSequence(TestSudokuHelper.VALID_INITIAL_SUDOKU, Arrays.asList(
+                                new Move((short) 2, new Point((short) 1, (short) 3)),
+                                new Move((short) 4, new Point((short) 1, (short) 0)),
+                                new Move((short) 2, new Point((short) 1, (short) 4)),
+                                new Move((short) 3, new Point((short) 0, (short) 1)))))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+                .andExpect(jsonPath("$.movesApplied").value(2))
+                .andExpect(jsonPath("$.invalidMoveIndex").value(2))
+                .andExpect(jsonPath("$.validationResult.validationStatus").value("INVALID"))
+                .andExpect(jsonPath("$.validationResult.state").value("AFTER_MOVE"))
+                .andExpect(jsonPath("$.validationResult.board[1][3]").value(2))
+                .andExpect(jsonPath("$.validationResult.board[1][0]").value(4))
+                .andExpect(jsonPath("$.validationResult.board[1][4]").value(0))
+                .andExpect(jsonPath("$.validationResult.board[0][1]").value(0))
+                .andExpect(jsonPath("$.validationResult.conflicts[0].type").value("ROW"))
+                .andExpect(jsonPath("$.validationResult.invalidityWarnings[0]")
+                        .value("Board already contains the same number 2 at row 1"));
+        // every move looked at is counted, not only the last one
+        assertEquals(valid + 2, validations("VALID", "AFTER_MOVE"));
+        assertEquals(invalid + 1, validations("INVALID", "AFTER_MOVE"));
+    }
+
+    private long validations(String status, String state) {
+        return counter(String.format("sudoku_validations_total{status=\"%s\",state=\"%s\"}", status, state));
+    }
+
+    private long counter(String series) {
+        String rendered = metrics.render();
+        int from = rendered.indexOf(series + ' ') + series.length() + 1;
+        return Long.parseLong(rendered.substring(from, rendered.indexOf('\n', from)));
+    }
+
+    /**
+     * Test that a sequence of more moves than allowed is rejected as a bad request
+     */
+    @Test
+    public void validateSequenceTooLong() throws Exception {
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i <= 1000; i++) {
+            moves.add(new Move((short) 2, new Point((short) 1, (short) 3)));
+        }
+        this.mockMvc.perform(
+                put("/sudoku/validate/sequence")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new MoveSequence(TestSudokuHelper.VALID_INITIAL_SUDOKU, moves))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Sequence of 1001 moves exceeds the maximum of 1000"));
+    }
+
+    /**
+     * Test solving the table we hand out
+     * curl -H "Content-Type:application/json" -X POST http://localhost:8080/sudoku/solve -d "{ \"values\": [[7,0,0,0,4,0,5,3,0],[0,0,5,0,0,8,0,1,0],[0,0,8,5,0,9,0,4,0],[5,3,9,0,6,0,0,0,1],[0,0,0,0,1,0,0,0,5],[8,0,0,7,2,0,9,0,0],[9,0,7,4,0,0,0,0,0],[0,0,0,0,5,7,0,0,0],[6,0,0,0,0,0,0,5,0]] }"
+     */
+    @Test
+    public void solve() throws Exception {
+        MvcResult asyncResult = this.mockMvc.perform(
+                post("/sudoku/solve")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Board(TestSudokuHelper.VALID_INITIAL_SUDOKU))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+                .andExpect(jsonPath("$.solutionStatus").value("SOLVED"))
+                .andExpect(jsonPath("$.board[0][0]").value(7))
+                .andExpect(jsonPath("$.board[8][8]").value(greaterThan(0)));
+    }
+
+    /**
+     * Test solving an invalid table, it must be rejected the same way as invalid moves
+     */
+    @Test
+    public void solveInvalidTable() throws Exception {
+        MvcResult asyncResult = this.mockMvc.perform(
+                post("/sudoku/solve")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Board(TestSudokuHelper.INVALID_SUDOKU))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    /**
+     * Test requesting hints for an almost finished board, the only empty cell can only take number 7
+     * curl -H "Content-Type:application/json" -X POST http://localhost:8080/sudoku/hints -d "{ \"values\":[[7,9,2,1,4,6,5,3,8],[4,6,5,2,3,8,7,1,9],[3,1,8,5,7,9,6,4,2],[5,3,9,8,6,4,2,7,1],[2,7,6,9,1,5,4,8,3],[8,4,1,7,2,3,9,6,5],[9,5,7,4,8,1,3,2,6],[1,2,3,6,5,7,8,9,4],[6,8,4,3,9,2,1,5,0]] }"
+     */
+    @Test
+    public void hints() throws Exception {
+        MvcResult asyncResult = this.mockMvc.perform(
+                post("/sudoku/hints")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Board(TestSudokuHelper.ALMOST_FINISHED_SUDOKU))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+                .andExpect(jsonPath("$.candidates[0][0]").value(0))
+                .andExpect(jsonPath("$.candidates[8][8]").value(1 << 6))
+                .andExpect(jsonPath("$.nextMove.number").value(7))
+                .andExpect(jsonPath("$.nextMove.point.row").value(8))
+                .andExpect(jsonPath("$.nextMove.point.column").value(8))
+                .andExpect(jsonPath("$.nextMove.reason").value("NAKED_SINGLE"));
+    }
+
+    /**
+     * Test requesting hints while the limit of their admission control is used up, the request waits for its
+     * max-wait-ms and is turned down before it is handled
+     */
+    @Test
+    public void hintsNotAdmitted() throws Exception {
+        AdmissionLimiter limiter = admissionInterceptor.limiter("hints");
+        int permits = limiter.getLimit();
+        for (int i = 0; i < permits; i++) {
+            limiter.acquire();
+        }
+        try {
+            this.mockMvc.perform(
+                    post("/sudoku/hints")
+                            .contentType(APPLICATION_JSON_UTF8)
+                            .content(asJsonString(new Board(TestSudokuHelper.ALMOST_FINISHED_SUDOKU))))
+                    .andDo(print())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.status").value(503))
+                    .andExpect(jsonPath("$.message").value(containsString("was not admitted within")));
+        } finally {
+            for (int i = 0; i < permits; i++) {
+                limiter.release(0);
+            }
+        }
+    }
+
+    /**
+     * Test validating a move sent and returned in the compact text form
+     * curl -H "Content-Type:text/x-sudoku" -H "Accept:text/x-sudoku" -X PUT http://localhost:8080/sudoku/validate -d "700040530005008010008509040539060001000010005800720900907400000000057000600000050 2 1 3"
+     */
+    @Test
+    public void validateText() throws Exception {
+        String board = BoardCodec.toText(TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        String boardAfterMove = board.substring(0, 12) + "2" + board.substring(13);
+
+        this.mockMvc.perform(
+                put("/sudoku/validate")
+                        .contentType(SudokuTextMessageConverter.MEDIA_TYPE)
+                        .accept(SudokuTextMessageConverter.MEDIA_TYPE)
+                        .content(board + " 2 1 3"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SudokuTextMessageConverter.MEDIA_TYPE))
+                .andExpect(content().string(boardAfterMove + " VALID AFTER_MOVE\n"));
+
+        // the warnings of an invalid move only when asked for
+        this.mockMvc.perform(
+                put("/sudoku/validate")
+                        .contentType(SudokuTextMessageConverter.MEDIA_TYPE)
+                        .accept(SudokuTextMessageConverter.MEDIA_TYPE)
+                        .content(board + " 5 1 3"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(board + " INVALID AFTER_MOVE\n"));
+        this.mockMvc.perform(
+                put("/sudoku/validate")
+                        .param("warnings", "true")
+                        .contentType(SudokuTextMessageConverter.MEDIA_TYPE)
+                        .accept(SudokuTextMessageConverter.MEDIA_TYPE)
+                        .content(board + " 5 1 3"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(board + " INVALID AFTER_MOVE\n"
+                        + "Board already contains the same number 5 at row 1\n"
+                        + "Board already contains the same number 5 at column 3\n"
+                        + "Board already contains the same number 5 at square 1\n"));
+    }
+
+    /**
+     * Test requesting a new table in the packed binary form, 4 bits per cell
+     * curl -H "Accept:application/x-sudoku" http://localhost:8080/sudoku/table
+     */
+    @Test
+    public void getTableBinary() throws Exception {
+        byte[] packed = this.mockMvc.perform(
+                get("/sudoku/table")
+                        .accept(SudokuBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SudokuBinaryMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(BoardCodec.PACKED_SIZE, packed.length);
+        assertEquals(9, BoardCodec.unpack(packed, 0).length);
+    }
+
+    /**
+     * Test validating a stream of moves, one per line. The second line is broken and must not stop the stream.
+     */
+    @Test
+    public void validateStream() throws Exception {
+        String content = asJsonString(new SudokuMove(TestSudokuHelper.VALID_INITIAL_SUDOKU, (short) 2, new Point((short) 1, (short) 3))) + "\n"
+                + "{ \"board\": \n"
+                + "\n"
+                + asJsonString(new SudokuMove(TestSudokuHelper.FINISHED_SUDOKU, (short) 5, new Point((short) 1, (short) 3))) + "\n";
+
+        String response = this.mockMvc.perform(
+                put("/sudoku/validate/stream")
+                        .contentType(NdjsonStreamer.MEDIA_TYPE)
+                        .content(content))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(NdjsonStreamer.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("VALID", JsonPath.read(lines[0], "$.validationStatus"));
+        assertEquals(400, (int) JsonPath.read(lines[1], "$.status"));
+        assertEquals("FINISHED", JsonPath.read(lines[2], "$.validationStatus"));
+    }
+
+    /**
+     * Test creating a game on the server and sending only the moves afterwards.
+     * The first move is valid, the second one conflicts with the first in the same row
+     * curl -H "Content-Type:application/json" -X POST http://localhost:8080/sudoku/games
+     * curl -H "Content-Type:application/json" -X PUT http://localhost:8080/sudoku/games/{id}/moves -d "{ \"number\":2,  \"point\":{\"row\":1, \"column\":3} }"
+     */
+    @Test
+    public void gameMoves() throws Exception {
+        String response = this.mockMvc.perform(
+                post("/sudoku/games")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Board(TestSudokuHelper.VALID_INITIAL_SUDOKU))))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isString())
+                .andExpect(jsonPath("$.board[0][0]").value(7))
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(response, "$.id");
+
+        this.mockMvc.perform(
+                put("/sudoku/games/" + id + "/moves")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Move((short) 2, new Point((short) 1, (short) 3)))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.board[1][3]").value(2))
+                .andExpect(jsonPath("$.validationStatus").value("VALID"))
+                .andExpect(jsonPath("$.state").value("AFTER_MOVE"));
+
+        this.mockMvc.perform(
+                put("/sudoku/games/" + id + "/moves")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Move((short) 2, new Point((short) 1, (short) 4)))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.board[1][4]").value(0))
+                .andExpect(jsonPath("$.validationStatus").value("INVALID"))
+                .andExpect(jsonPath("$.conflicts[0].type").value("ROW"))
+                // the warnings are only written when asked for
+                .andExpect(jsonPath("$.invalidityWarnings").doesNotExist());
+    }
+
+    /**
+     * Test moving on a game that doesn't exist
+     */
+    @Test
+    public void unknownGame() throws Exception {
+        this.mockMvc.perform(
+                put("/sudoku/games/unknown/moves")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new Move((short) 2, new Point((short) 1, (short) 3)))))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Game unknown does not exist or has expired"));
+    }
+
+    /**
+     * Test that requests, validations, their phases and errors show up in the metrics
+     */
+    @Test
+    public void metrics() throws Exception {
+        SudokuMove sudokuMove = new SudokuMove(TestSudokuHelper.VALID_INITIAL_SUDOKU, (short) 2, new Point((short) 1, (short) 3));
+        this.mockMvc.perform(
+                put("/sudoku/validate")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(sudokuMove)))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/sudoku/table").param("difficulty", "IMPOSSIBLE"))
+                .andExpect(status().isBadRequest());
+
+        this.mockMvc.perform(get("/sudoku/metrics"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(containsString(
+                        "sudoku_http_request_duration_seconds_count{method=\"PUT\",uri=\"/sudoku/validate\",status=\"200\"}")))
+                .andExpect(content().string(containsString("sudoku_validations_total{status=\"VALID\",state=\"AFTER_MOVE\"}")))
+                .andExpect(content().string(containsString("sudoku_validator_phase_duration_seconds_count{phase=\"resolve\"}")))
+                .andExpect(content().string(containsString(
+                        "sudoku_http_request_duration_seconds_count{method=\"GET\",uri=\"/sudoku/table\",status=\"400\"}")))
+                .andExpect(content().string(containsString("sudoku_errors_total{exception=\"")));
+    }
+
+    /**
+     * Test validating moves on a 4x4 board, the ranges of the number and the point follow the size of the board
+     */
+    @Test
+    public void validateSmallerBoard() throws Exception {
+        short[][] board = {
+                {1, 2, 0, 0},
+                {3, 4, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0}};
+        this.mockMvc.perform(
+                put("/sudoku/validate")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content(asJsonString(new SudokuMove(board, (short) 4, new Point((short) 3, (short) 3)))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.board[3][3]").value(4))
+                .andExpect(jsonPath("$.validationStatus").value("VALID"));
+
+        this.mockMvc.perform(
+                put("/sudoku/validate")
+                        .contentType(APPLICATION_JSON_UTF8)
+                        .content("{\"board\":[[1,2,0,0],[3,4,0,0],[0,0,0,0],[0,0,0,0]],\"number\":5,\"point\":{\"row\":3,\"column\":3}}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Number 5 is not between 0-4")));
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.jojos.challenge.sudoku.control;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link NdjsonStreamer}, the results of lines that are already there must not be flushed one by one.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class NdjsonStreamerTest {
+
+    @Test
+    public void resultsOfBufferedLinesAreFlushedTogether() throws Exception {
+        byte[] input = "1\n2\n\n3\n".getBytes(StandardCharsets.UTF_8);
+        FlushCountingOutputStream out = new FlushCountingOutputStream();
+
+        long lines = new NdjsonStreamer(new ObjectMapper()).process(new ByteArrayInputStream(input), out,
+                "http://localhost/stream", null, Integer.class, (Function<Integer, Integer>) number -> number * 2);
+
+        assertEquals(4, lines);
+        assertEquals("2\n4\n6\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        // once after the last line, when no further line is ready, and once at the end of the stream
+        assertEquals(2, out.flushes);
+    }
+
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            ++flushes;
+        }
+    }
+
+}
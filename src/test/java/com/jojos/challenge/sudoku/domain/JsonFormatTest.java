@@ -0,0 +1,122 @@
+package com.jojos.challenge.sudoku.domain;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jojos.challenge.sudoku.domain.json.ValidationResultJson;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the hand-written json serializers and deserializers of the domain, the expected json was captured from
+ * the reflective serialization they replaced and must stay the same byte for byte, apart from the conflicts
+ * of the validation results that were added later and their invalidity warnings that are only written when asked for.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class JsonFormatTest {
+
+    private static final String BOARD = "[[7,0,0,0,4,0,5,3,0],[0,0,5,0,0,8,0,1,0],[0,0,8,5,0,9,0,4,0],"
+            + "[5,3,9,0,6,0,0,0,1],[0,0,0,0,1,0,0,0,5],[8,0,0,7,2,0,9,0,0],[9,0,7,4,0,0,0,0,0],"
+            + "[0,0,0,0,5,7,0,0,0],[6,0,0,0,0,0,0,5,0]]";
+
+    // configured the same way as the one behind the controller
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().defaultViewInclusion(true).build();
+    private final ObjectWriter warnings = mapper.writerWithView(ValidationResultJson.Warnings.class);
+
+    @Test
+    public void writeBoards() throws Exception {
+        short[][] board = TestSudokuHelper.VALID_INITIAL_SUDOKU;
+        assertEquals("{\"values\":" + BOARD + "}", mapper.writeValueAsString(new Board(board)));
+        assertEquals("{\"values\":" + BOARD + ",\"difficulty\":\"HARD\",\"score\":42}",
+                mapper.writeValueAsString(new Board(board, Difficulty.HARD, 42)));
+        assertEquals("{}", mapper.writeValueAsString(new Board(null)));
+    }
+
+    @Test
+    public void writeMovesAndResults() throws Exception {
+        short[][] board = TestSudokuHelper.VALID_INITIAL_SUDOKU;
+        assertEquals("{\"board\":" + BOARD + ",\"number\":2,\"point\":{\"row\":1,\"column\":3}}",
+                mapper.writeValueAsString(new SudokuMove(board, (short) 2, new Point((short) 1, (short) 3))));
+        assertEquals("{\"board\":" + BOARD + ",\"validationStatus\":\"INVALID\",\"state\":\"AFTER_MOVE\","
+                        + "\"invalidityWarnings\":[\"a \\\"quoted\\\" é\\n\",\"b\"],\"conflicts\":[]}",
+                warnings.writeValueAsString(new ValidationResult.ValidationResultBuilder()
+                        .board(board)
+                        .validationStatus(ValidationResult.ValidationStatus.INVALID)
+                        .state(ValidationResult.State.AFTER_MOVE)
+                        .invalidityWarnings(Arrays.asList("a \"quoted\" é\n", "b"))
+                        .build()));
+        ValidationResult invalid = ValidationResult.of(board, ValidationResult.State.AFTER_MOVE,
+                Collections.singletonList(new Conflict(Conflict.Type.ROW, (short) 5,
+                        new Point((short) 1, (short) 3), new Point((short) 1, (short) 2))));
+        String conflicts = "\"conflicts\":[{\"type\":\"ROW\",\"value\":5,\"cell\":{\"row\":1,\"column\":3},"
+                + "\"conflictingCell\":{\"row\":1,\"column\":2}}]}";
+        assertEquals("{\"board\":" + BOARD + ",\"validationStatus\":\"INVALID\",\"state\":\"AFTER_MOVE\","
+                + conflicts, mapper.writeValueAsString(invalid));
+        assertEquals("{\"board\":" + BOARD + ",\"validationStatus\":\"INVALID\",\"state\":\"AFTER_MOVE\","
+                        + "\"invalidityWarnings\":[\"Board already contains the same number 5 at row 1\"]," + conflicts,
+                warnings.writeValueAsString(invalid));
+        assertEquals("{\"board\":" + BOARD + ",\"validationStatus\":\"FINISHED\",\"state\":\"BEFORE_MOVE\","
+                        + "\"conflicts\":[]}",
+                mapper.writeValueAsString(ValidationResult.finished(board, ValidationResult.State.BEFORE_MOVE)));
+    }
+
+    @Test
+    public void writeErrors() throws Exception {
+        assertEquals("{\"status\":400,\"reason\":\"Bad Request\",\"url\":\"http://x/y\",\"message\":null}",
+                mapper.writeValueAsString(new ErrorInfo(HttpStatus.BAD_REQUEST, "http://x/y", new RuntimeException())));
+        assertEquals("{\"status\":503,\"reason\":\"Service Unavailable\",\"url\":\"http://x/y\",\"message\":\"m\"}",
+                mapper.writeValueAsString(new ErrorInfo(HttpStatus.SERVICE_UNAVAILABLE, "http://x/y",
+                        new RuntimeException("m"))));
+    }
+
+    @Test
+    public void readWhatIsWritten() throws Exception {
+        String json = "{\"board\":" + BOARD + ",\"validationStatus\":\"INVALID\",\"state\":\"AFTER_MOVE\","
+                + "\"invalidityWarnings\":[\"a\",null],\"conflicts\":[{\"type\":\"OCCUPIED\",\"value\":3,"
+                + "\"cell\":{\"row\":0,\"column\":0},\"conflictingCell\":null},null]}";
+        assertEquals(json, warnings.writeValueAsString(mapper.readValue(json, ValidationResult.class)));
+
+        String boardJson = "{\"values\":" + BOARD + ",\"difficulty\":\"EASY\",\"score\":7,\"id\":\"abc\"}";
+        assertEquals(boardJson, mapper.writeValueAsString(mapper.readValue(boardJson, Board.class)));
+        Board board = mapper.readValue(boardJson, Board.class);
+        assertArrayEquals(TestSudokuHelper.VALID_INITIAL_SUDOKU, board.getValues());
+        assertEquals(Difficulty.EASY, board.getDifficulty());
+        assertEquals(7, (int) board.getScore());
+        assertEquals("abc", board.getId());
+    }
+
+    @Test
+    public void readLeniently() throws Exception {
+        // unknown fields are skipped, numbers may come as strings and missing fields are left out
+        SudokuMove move = mapper.readValue("{\"extra\":{\"a\":[1]},\"number\":\"3\",\"point\":{\"row\":1,\"column\":2}}",
+                SudokuMove.class);
+        assertNull(move.getBoard());
+        assertEquals(3, move.getNumber());
+        assertEquals(2, move.getPoint().getColumn());
+        assertNull(mapper.readValue("{}", Board.class).getValues());
+    }
+
+    @Test
+    public void failTheSameWayAsBefore() throws Exception {
+        try {
+            mapper.readValue("{\"board\":[[0,0,0,0],[0,0,0,0],[0,0,0,0],[0,0,0,0]],\"number\":5,"
+                    + "\"point\":{\"row\":0,\"column\":0}}", SudokuMove.class);
+            fail();
+        } catch (JsonMappingException e) {
+            assertEquals("Instantiation of [simple type, class com.jojos.challenge.sudoku.domain.SudokuMove] value failed: "
+                    + "Number 5 is not between 0-4", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.jojos.challenge.sudoku.journal;
+
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.State;
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+
+/**
+ * Tests for the {@link MoveJournal}, every record written must be read back in order across rolled files.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class MoveJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void idleWriterIsWokenUpByTheNextRecord() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        MoveJournal journal = new MoveJournal(true, directory.toString(), 2 * JournalRecord.SIZE, 100, new SudokuMetrics());
+        journal.start();
+        try {
+            // let the writer find the queue empty and go to sleep
+            Thread.sleep(50);
+            journal.recordGameCreated(UUID.randomUUID().toString(), TestSudokuHelper.VALID_INITIAL_SUDOKU);
+
+            List<JournalRecord> records = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (records.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+                JournalReplay.read(directory, records::add);
+            }
+            assertEquals(1, records.size());
+        } finally {
+            journal.stop();
+        }
+    }
+
+    @Test
+    public void recordsAreReadBackInOrder() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        // two records per file
+        MoveJournal journal = new MoveJournal(true, directory.toString(), 2 * JournalRecord.SIZE, 100, new SudokuMetrics());
+        journal.start();
+
+        String gameId = UUID.randomUUID().toString();
+        short[][] board = SudokuUtils.copyOf(TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        journal.recordGameCreated(gameId, board);
+        board[1][3] = 2;
+        journal.recordMove(gameId, (short) 2, new Point((short) 1, (short) 3),
+                ValidationResult.of(board, State.AFTER_MOVE, Collections.emptyList()));
+        journal.recordMove(gameId, (short) 2, new Point((short) 1, (short) 4),
+                ValidationResult.of(board, State.AFTER_MOVE, Collections.singletonList(
+                        new Conflict(Conflict.Type.ROW, (short) 2, new Point((short) 1, (short) 4), new Point((short) 1, (short) 3)))));
+        journal.recordMove(null, (short) 5, new Point((short) 8, (short) 8),
+                ValidationResult.finished(TestSudokuHelper.FINISHED_SUDOKU, State.BEFORE_MOVE));
+        journal.stop();
+
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReplay.read(directory, records::add);
+        assertEquals(4, records.size());
+        assertEquals(2, directory.toFile().list().length);
+
+        assertEquals(JournalRecord.Type.GAME_CREATED, records.get(0).getType());
+        assertEquals(gameId, records.get(0).getGameId().toString());
+        assertArrayEquals(TestSudokuHelper.VALID_INITIAL_SUDOKU, records.get(0).getBoard());
+
+        JournalRecord invalidMove = records.get(2);
+        assertEquals(JournalRecord.Type.MOVE, invalidMove.getType());
+        assertEquals(2, invalidMove.getNumber());
+        assertEquals(1, invalidMove.getPoint().getRow());
+        assertEquals(4, invalidMove.getPoint().getColumn());
+        assertEquals(ValidationStatus.INVALID, invalidMove.getValidationStatus());
+        assertEquals(State.AFTER_MOVE, invalidMove.getState());
+        assertArrayEquals(board, invalidMove.getBoard());
+
+        assertNull(records.get(3).getGameId());
+        assertEquals(ValidationStatus.FINISHED, records.get(3).getValidationStatus());
+        assertEquals(State.BEFORE_MOVE, records.get(3).getState());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JournalReplay.replay(directory, null, new PrintStream(out, true));
+        String replay = out.toString();
+        assertTrue(replay, replay.contains("Game " + gameId));
+        assertTrue(replay, replay.contains("2 at (1, 3) VALID"));
+        assertTrue(replay, replay.contains("1 games, moves without a game {FINISHED=1}"));
+    }
+
+}
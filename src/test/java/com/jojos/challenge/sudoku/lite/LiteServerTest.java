@@ -0,0 +1,116 @@
+package com.jojos.challenge.sudoku.lite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link LiteServer}, which must answer the same way as the controller does for the endpoints it serves.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class LiteServerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LiteServer liteServer;
+
+    @Before
+    public void setUp() throws Exception {
+        liteServer = new LiteServer(LiteServer.properties(new String[]{"--server.port=0", "--sudoku.pool.capacity=2"}));
+        liteServer.start();
+    }
+
+    @After
+    public void tearDown() {
+        liteServer.stop();
+    }
+
+    @Test
+    public void getTable() throws Exception {
+        HttpURLConnection connection = open("/sudoku/table", "GET");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("application/json;charset=UTF-8", connection.getContentType());
+        JsonNode board = read(connection);
+        assertEquals(9, board.get("values").size());
+        assertTrue(board.get("difficulty").isTextual());
+
+        assertEquals(400, open("/sudoku/table?difficulty=IMPOSSIBLE", "GET").getResponseCode());
+    }
+
+    @Test
+    public void validate() throws Exception {
+        JsonNode result = validate(new SudokuMove(TestSudokuHelper.VALID_INITIAL_SUDOKU, (short) 2, new Point((short) 1, (short) 3)), 200);
+        assertEquals("VALID", result.get("validationStatus").asText());
+        assertEquals("AFTER_MOVE", result.get("state").asText());
+        assertEquals(2, result.get("board").get(1).get(3).asInt());
+
+        SudokuMove invalid = new SudokuMove(TestSudokuHelper.VALID_INITIAL_SUDOKU, (short) 5, new Point((short) 1, (short) 3));
+        result = validate(invalid, 200);
+        assertEquals("INVALID", result.get("validationStatus").asText());
+        assertEquals("ROW", result.get("conflicts").get(0).get("type").asText());
+        assertNull(result.get("invalidityWarnings"));
+        result = validate("/sudoku/validate?warnings=true", invalid, 200);
+        assertEquals("Board already contains the same number 5 at row 1", result.get("invalidityWarnings").get(0).asText());
+
+        short[][] outOfRange = TestSudokuHelper.VALID_INITIAL_SUDOKU.clone();
+        outOfRange[0] = new short[]{10, 0, 0, 0, 0, 0, 0, 0, 0};
+        JsonNode error = validate(new SudokuMove(outOfRange, (short) 2, new Point((short) 1, (short) 3)), 400);
+        assertEquals(400, error.get("status").asInt());
+        assertEquals("Bad Request", error.get("reason").asText());
+        assertTrue(error.get("url").asText().endsWith("/sudoku/validate"));
+        assertEquals("Value 10 on board is not between permitted values", error.get("message").asText());
+    }
+
+    @Test
+    public void onlyTheMappedRequests() throws Exception {
+        HttpURLConnection connection = open("/sudoku/validate", "POST");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("Request method 'POST' not supported", objectMapper.readTree(connection.getErrorStream()).get("message").asText());
+        assertEquals(404, open("/sudoku/validate/batch", "PUT").getResponseCode());
+    }
+
+    private JsonNode validate(SudokuMove sudokuMove, int status) throws IOException {
+        return validate("/sudoku/validate", sudokuMove, status);
+    }
+
+    private JsonNode validate(String path, SudokuMove sudokuMove, int status) throws IOException {
+        HttpURLConnection connection = open(path, "PUT");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(TestSudokuHelper.asJsonString(sudokuMove).getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(status, connection.getResponseCode());
+        return read(connection);
+    }
+
+    private HttpURLConnection open(String path, String method) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + liteServer.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        return connection;
+    }
+
+    private JsonNode read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.jojos.challenge.sudoku.domain.ValidationResult.ValidationStatus;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the {@link BitSlicedKernel} gives the same verdicts as {@link DefaultValidator} resolving the boards
+ * one by one, and the same results for the moves on the boards it found valid.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class BitSlicedKernelTest {
+
+    @Test
+    public void sameVerdicts() {
+        List<short[][]> boards = new ArrayList<>();
+        boards.add(TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        boards.add(TestSudokuHelper.INVALID_SUDOKU);
+        boards.add(TestSudokuHelper.FINISHED_SUDOKU);
+        boards.add(TestSudokuHelper.ALMOST_FINISHED_SUDOKU);
+        boards.add(TestSudokuHelper.UNSOLVABLE_SUDOKU);
+        boards.add(new short[9][9]);
+        // every square holds every number but the rows and columns don't, which still counts as finished
+        short[][] squaresOnly = SudokuUtils.copyOf(TestSudokuHelper.FINISHED_SUDOKU);
+        short swap = squaresOnly[0][0];
+        squaresOnly[0][0] = squaresOnly[1][1];
+        squaresOnly[1][1] = swap;
+        boards.add(squaresOnly);
+
+        // and boards with one or two numbers changed at random, more than fit in one go
+        Random random = new Random(42);
+        while (boards.size() < 3 * BitSlicedKernel.LANES + 5) {
+            short[][] board = SudokuUtils.copyOf(boards.get(random.nextInt(7)));
+            for (int changes = 1 + random.nextInt(2); changes > 0; changes--) {
+                board[random.nextInt(9)][random.nextInt(9)] = (short) random.nextInt(10);
+            }
+            boards.add(board);
+        }
+
+        short[][][] all = boards.toArray(new short[0][][]);
+        for (int offset = 0; offset < all.length; offset += BitSlicedKernel.LANES) {
+            int count = Math.min(BitSlicedKernel.LANES, all.length - offset);
+            BitSlicedKernel.Verdicts verdicts = BitSlicedKernel.validate(all, offset, count);
+            for (int lane = 0; lane < count; lane++) {
+                ValidationResult expected = new DefaultValidator().resolveAndValidateSecondaryArrays(all[offset + lane]);
+                assertEquals("board " + (offset + lane), expected.getValidationStatus(), verdicts.statusOf(lane));
+            }
+        }
+    }
+
+    @Test
+    public void irregularBoards() {
+        short[][] outOfRange = SudokuUtils.copyOf(TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        outOfRange[4][4] = 10;
+        short[][][] boards = {new short[4][4], outOfRange, TestSudokuHelper.VALID_INITIAL_SUDOKU};
+
+        BitSlicedKernel.Verdicts verdicts = BitSlicedKernel.validate(boards, 0, boards.length);
+
+        assertEquals(0b011, verdicts.getIrregular());
+        assertNull(verdicts.statusOf(0));
+        assertNull(verdicts.statusOf(1));
+        assertEquals(ValidationStatus.VALID, verdicts.statusOf(2));
+    }
+
+    @Test
+    public void sameMoveResults() {
+        short[][] almostFinished = TestSudokuHelper.ALMOST_FINISHED_SUDOKU;
+        for (short[][] board : new short[][][]{TestSudokuHelper.VALID_INITIAL_SUDOKU, almostFinished}) {
+            for (int number = 1; number <= 9; number++) {
+                for (int cell = 0; cell < 81; cell++) {
+                    assertSameMoveResult(board, number, new Point((short) (cell / 9), (short) (cell % 9)));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noMoreThanLanes() {
+        BitSlicedKernel.validate(new short[BitSlicedKernel.LANES + 1][][], 0, BitSlicedKernel.LANES + 1);
+    }
+
+    private void assertSameMoveResult(short[][] board, int number, Point point) {
+        ValidationResult expected;
+        try {
+            expected = new BitmaskValidator().validateSudokuMove(new SudokuMove(SudokuUtils.copyOf(board), (short) number, point));
+        } catch (ApplicationException e) {
+            return;
+        }
+        ValidationResult actual = BitSlicedKernel.applyMove(SudokuUtils.copyOf(board), (short) number, point);
+
+        assertEquals(expected.getValidationStatus(), actual.getValidationStatus());
+        assertEquals(expected.getState(), actual.getState());
+        assertEquals(expected.getConflicts(), actual.getConflicts());
+        assertArrayEquals(expected.getBoard(), actual.getBoard());
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Move;
+import com.jojos.challenge.sudoku.domain.MoveSequence;
+import com.jojos.challenge.sudoku.domain.Point;
+import com.jojos.challenge.sudoku.domain.SequenceResult;
+import com.jojos.challenge.sudoku.domain.SudokuMove;
+import com.jojos.challenge.sudoku.domain.ValidationResult;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the {@link BitmaskValidator} gives exactly the same answers as the {@link DefaultValidator}
+ * for the boards and moves we use in our controller tests and for boards of the other supported sizes,
+ * and that sequences of moves stop at the same move whether the board is resolved once or for every move.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class BitmaskValidatorTest {
+
+    private final BitmaskValidator bitmaskValidator = new BitmaskValidator();
+
+    @Test
+    public void invalidInitialBoard() {
+        assertSameResult(TestSudokuHelper.INVALID_SUDOKU, 3, 1, 1);
+    }
+
+    @Test
+    public void invalidBoardAfterMove() {
+        assertSameResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, 5, 1, 3);
+    }
+
+    @Test
+    public void occupiedCell() {
+        assertSameResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, 2, 0, 0);
+    }
+
+    @Test
+    public void validMove() {
+        assertSameResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, 2, 1, 3);
+    }
+
+    @Test
+    public void finishedBoardBeforeMove() {
+        assertSameResult(TestSudokuHelper.FINISHED_SUDOKU, 5, 1, 3);
+    }
+
+    @Test
+    public void finishedBoardAfterMove() {
+        assertSameResult(TestSudokuHelper.ALMOST_FINISHED_SUDOKU, 7, 8, 8);
+    }
+
+    @Test
+    public void numberZero() {
+        // answered as any other move on a finished or invalid board, as a move on an occupied cell
+        assertSameResult(TestSudokuHelper.FINISHED_SUDOKU, 0, 1, 3);
+        assertSameResult(TestSudokuHelper.INVALID_SUDOKU, 0, 1, 1);
+        assertSameResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, 0, 0, 0);
+        assertSameSequenceResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, Arrays.asList(move(2, 1, 3), move(0, 0, 0)), 1, 1);
+
+        // and rejected by both engines on an empty cell
+        Point point = new Point((short) 1, (short) 3);
+        for (Validator validator : Arrays.asList(new DefaultValidator(), bitmaskValidator)) {
+            try {
+                validator.validateSudokuMove(new SudokuMove(SudokuUtils.copyOf(TestSudokuHelper.VALID_INITIAL_SUDOKU),
+                        (short) 0, point));
+                fail("a move of the number 0 on an empty cell must be rejected");
+            } catch (ApplicationException e) {
+                assertEquals("Number 0 can't be placed at " + point, e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void largerBoards() {
+        for (int size : new int[]{4, 16, 25}) {
+            short[][] finished = new DefaultSolver().solve(new Board(new short[size][size])).getBoard();
+            short[][] almostFinished = SudokuUtils.copyOf(finished);
+            almostFinished[size - 1][size - 1] = 0;
+            short[][] invalid = SudokuUtils.copyOf(almostFinished);
+            invalid[0][0] = invalid[0][1];
+
+            assertSameResult(finished, 1, 0, 0);
+            assertSameResult(almostFinished, finished[size - 1][size - 1], size - 1, size - 1);
+            assertSameResult(almostFinished, finished[size - 1][0], size - 1, size - 1);
+            assertSameResult(invalid, 1, size - 1, size - 1);
+        }
+    }
+
+    @Test
+    public void sequences() {
+        List<Move> moves = Arrays.asList(move(2, 1, 3), move(4, 1, 0), move(2, 1, 4), move(3, 0, 1));
+        assertSameSequenceResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, moves, 2, 2);
+        assertSameSequenceResult(TestSudokuHelper.VALID_INITIAL_SUDOKU, moves.subList(0, 2), 2, null);
+        assertSameSequenceResult(TestSudokuHelper.INVALID_SUDOKU, moves, 0, null);
+        assertSameSequenceResult(TestSudokuHelper.FINISHED_SUDOKU, moves, 0, null);
+
+        // the moves after the one finishing the board are not looked at
+        short[][] finished = TestSudokuHelper.FINISHED_SUDOKU;
+        short[][] board = SudokuUtils.copyOf(finished);
+        board[0][0] = board[4][4] = board[8][8] = 0;
+        assertSameSequenceResult(board, Arrays.asList(move(finished[0][0], 0, 0), move(finished[4][4], 4, 4),
+                move(finished[8][8], 8, 8), move(1, 0, 0)), 3, null);
+    }
+
+    private void assertSameSequenceResult(short[][] board, List<Move> moves, int movesApplied, Integer invalidMoveIndex) {
+        Validator oneByOne = sudokuMove -> new DefaultValidator().validateSudokuMove(sudokuMove);
+        for (Validator validator : Arrays.asList(new DefaultValidator(), bitmaskValidator, oneByOne)) {
+            SequenceResult expected = oneByOne.validateSequence(new MoveSequence(SudokuUtils.copyOf(board), moves));
+            SequenceResult actual = validator.validateSequence(new MoveSequence(SudokuUtils.copyOf(board), moves));
+
+            assertEquals(movesApplied, actual.getMovesApplied());
+            assertEquals(invalidMoveIndex, actual.getInvalidMoveIndex());
+            assertEquals(expected.getValidationResult().getValidationStatus(), actual.getValidationResult().getValidationStatus());
+            assertEquals(expected.getValidationResult().getState(), actual.getValidationResult().getState());
+            assertEquals(expected.getValidationResult().getConflicts(), actual.getValidationResult().getConflicts());
+            assertArrayEquals(expected.getValidationResult().getBoard(), actual.getValidationResult().getBoard());
+        }
+    }
+
+    private static Move move(int number, int row, int column) {
+        return new Move((short) number, new Point((short) row, (short) column));
+    }
+
+    private void assertSameResult(short[][] board, int number, int row, int column) {
+        Point point = new Point((short) row, (short) column);
+        ValidationResult expected = new DefaultValidator().validateSudokuMove(
+                new SudokuMove(SudokuUtils.copyOf(board), (short) number, point));
+        ValidationResult actual = bitmaskValidator.validateSudokuMove(
+                new SudokuMove(SudokuUtils.copyOf(board), (short) number, point));
+
+        assertEquals(expected.getValidationStatus(), actual.getValidationStatus());
+        assertEquals(expected.getState(), actual.getState());
+        assertEquals(expected.getInvalidityWarnings(), actual.getInvalidityWarnings());
+        assertEquals(expected.getConflicts(), actual.getConflicts());
+        assertArrayEquals(expected.getBoard(), actual.getBoard());
+    }
+
+}
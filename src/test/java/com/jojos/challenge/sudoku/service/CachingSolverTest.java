@@ -0,0 +1,88 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.Conflict;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import com.jojos.challenge.sudoku.metrics.SudokuMetrics;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link CachingSolver} and the {@link CanonicalForm} behind it. Equivalent boards must share their
+ * canonical form, and a solution cached for one of them must be a solution of every other one.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class CachingSolverTest {
+
+    private final PuzzleGenerator generator = new PuzzleGenerator();
+    private final Random random = new Random(42);
+
+    @Test
+    public void equivalentBoardsShareTheirCanonicalForm() {
+        for (short[][] puzzle : new short[][][]{TestSudokuHelper.HARD_SUDOKU, generator.generate(random)}) {
+            CanonicalForm canonicalForm = CanonicalForm.of(puzzle);
+            assertNotNull(canonicalForm);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(canonicalForm.getKey(), CanonicalForm.of(generator.derive(puzzle, random)).getKey());
+            }
+            assertArrayEquals(puzzle, canonicalForm.fromCanonical(canonicalForm.toCanonical(puzzle)));
+        }
+        assertNotEquals(CanonicalForm.of(TestSudokuHelper.HARD_SUDOKU).getKey(),
+                CanonicalForm.of(SudokuUtils.getSudokuTable()).getKey());
+    }
+
+    @Test
+    public void cachedSolutionsAreMappedBackToEquivalentBoards() {
+        SudokuMetrics metrics = new SudokuMetrics();
+        CachingSolver solver = new CachingSolver(new DefaultSolver(), metrics, 100);
+
+        solver.solve(new Board(TestSudokuHelper.HARD_SUDOKU));
+        for (int i = 0; i < 5; i++) {
+            short[][] derived = generator.derive(TestSudokuHelper.HARD_SUDOKU, random);
+            SolutionResult solutionResult = solver.solve(new Board(derived));
+            assertEquals(SolutionResult.SolutionStatus.SOLVED, solutionResult.getSolutionStatus());
+            assertIsSolutionOf(derived, solutionResult.getBoard());
+        }
+
+        String rendered = metrics.render();
+        assertTrue(rendered, rendered.contains("sudoku_solution_cache_lookups_total{outcome=\"hit\"} 5"));
+        assertTrue(rendered, rendered.contains("sudoku_solution_cache_lookups_total{outcome=\"miss\"} 1"));
+    }
+
+    @Test
+    public void emptyBoardBypassesTheCache() {
+        // every transformation of an empty board ties, so the search for its canonical form gives up
+        SudokuMetrics metrics = new SudokuMetrics();
+        CachingSolver solver = new CachingSolver(new DefaultSolver(), metrics, 100);
+        assertEquals(SolutionResult.SolutionStatus.SOLVED, solver.solve(new Board(new short[9][9])).getSolutionStatus());
+        assertTrue(metrics.render().contains("sudoku_solution_cache_lookups_total{outcome=\"bypass\"} 1"));
+    }
+
+    private static void assertIsSolutionOf(short[][] puzzle, short[][] solution) {
+        short[][] check = SudokuUtils.copyOf(solution);
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                assertTrue(puzzle[i][j] == 0 || puzzle[i][j] == solution[i][j]);
+            }
+        }
+        // a complete board without duplicates is finished
+        BoardOccupancy occupancy = new BoardOccupancy();
+        List<Conflict> reasons = new ArrayList<>();
+        occupancy.resolve(check, reasons);
+        assertTrue(reasons.toString(), reasons.isEmpty());
+        assertTrue(occupancy.isFinished());
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ServiceUnavailableException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link ComputePool}, work beyond its queue must be turned down and cancelled work must be interrupted.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class ComputePoolTest {
+
+    // a single thread with room for a single waiting task
+    private final ComputePool computePool = new ComputePool(1, 1, 1000);
+
+    @After
+    public void tearDown() {
+        computePool.shutdown();
+    }
+
+    @Test
+    public void workBeyondTheQueueIsTurnedDown() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = computePool.submit(() -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        started.await();
+        CompletableFuture<Integer> queued = computePool.submit(() -> 2);
+        try {
+            computePool.submit(() -> 3);
+            throw new AssertionError("Work beyond the queue must be turned down");
+        } catch (ServiceUnavailableException e) {
+            // expected
+        }
+        release.countDown();
+        assertEquals(1, running.get(1, TimeUnit.SECONDS).intValue());
+        assertEquals(2, queued.get(1, TimeUnit.SECONDS).intValue());
+    }
+
+    @Test
+    public void cancelledWorkIsInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Integer> running = computePool.submit(() -> {
+            started.countDown();
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.yield();
+            }
+            interrupted.countDown();
+            return 1;
+        });
+        started.await();
+        running.cancel(true);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void callWaitsNoLongerThanTheTimeout() throws Exception {
+        ComputePool fastPool = new ComputePool(1, 1, 100);
+        try {
+            assertEquals(1, fastPool.call(() -> 1).intValue());
+            CountDownLatch interrupted = new CountDownLatch(1);
+            try {
+                fastPool.call(() -> {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        Thread.yield();
+                    }
+                    interrupted.countDown();
+                    return 1;
+                });
+                throw new AssertionError("Work beyond the timeout must be turned down");
+            } catch (ServiceUnavailableException e) {
+                // expected
+            }
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        } finally {
+            fastPool.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Board;
+import com.jojos.challenge.sudoku.domain.SolutionResult;
+import com.jojos.challenge.sudoku.utils.BoardGeometry;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link DefaultSolver}, every solution is checked to be complete and to keep the givens.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class DefaultSolverTest {
+
+    private final DefaultSolver solver = new DefaultSolver();
+
+    @Test
+    public void solveDefaultTable() {
+        assertSolved(SudokuUtils.getSudokuTable());
+    }
+
+    @Test
+    public void solveHardTable() {
+        assertSolved(TestSudokuHelper.HARD_SUDOKU);
+    }
+
+    @Test
+    public void solveAlmostFinishedTable() {
+        SolutionResult solutionResult = assertSolved(TestSudokuHelper.ALMOST_FINISHED_SUDOKU);
+        assertArrayEquals(TestSudokuHelper.FINISHED_SUDOKU, solutionResult.getBoard());
+    }
+
+    @Test
+    public void solveEmptyTable() {
+        assertSolved(new short[9][9]);
+    }
+
+    @Test
+    public void solveEmptyTablesOfEverySize() {
+        for (int box = BoardGeometry.MIN_BOX; box <= BoardGeometry.MAX_BOX; box++) {
+            assertSolved(new short[box * box][box * box]);
+        }
+    }
+
+    @Test
+    public void noSolution() {
+        SolutionResult solutionResult = solver.solve(new Board(TestSudokuHelper.UNSOLVABLE_SUDOKU));
+        assertEquals(SolutionResult.SolutionStatus.NO_SOLUTION, solutionResult.getSolutionStatus());
+        assertArrayEquals(TestSudokuHelper.UNSOLVABLE_SUDOKU, solutionResult.getBoard());
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void invalidTable() {
+        solver.solve(new Board(TestSudokuHelper.INVALID_SUDOKU));
+    }
+
+    private SolutionResult assertSolved(short[][] board) {
+        short[][] givens = SudokuUtils.copyOf(board);
+        SolutionResult solutionResult = solver.solve(new Board(board));
+        assertEquals(SolutionResult.SolutionStatus.SOLVED, solutionResult.getSolutionStatus());
+        assertArrayEquals("the board to solve must not be modified", givens, board);
+
+        short[][] solution = solutionResult.getBoard();
+        BoardGeometry geometry = BoardGeometry.of(board);
+        int size = geometry.getSize();
+        for (int i = 0; i < size; i++) {
+            int row = 0;
+            int column = 0;
+            int square = 0;
+            for (int j = 0; j < size; j++) {
+                row |= 1 << (solution[i][j] - 1);
+                column |= 1 << (solution[j][i] - 1);
+                square |= 1 << (solution[geometry.squareRow(i, j)][geometry.squareColumn(i, j)] - 1);
+                assertTrue(givens[i][j] == 0 || givens[i][j] == solution[i][j]);
+            }
+            assertEquals(geometry.getAllNumbers(), row);
+            assertEquals(geometry.getAllNumbers(), column);
+            assertEquals(geometry.getAllNumbers(), square);
+        }
+        return solutionResult;
+    }
+
+}
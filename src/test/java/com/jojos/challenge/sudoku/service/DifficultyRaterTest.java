@@ -0,0 +1,65 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.domain.Difficulty;
+import com.jojos.challenge.sudoku.utils.BoardCodec;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link DifficultyRater}, with a puzzle for every difficulty.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class DifficultyRaterTest {
+
+    // needs pointing or pairs
+    private static final String MEDIUM_SUDOKU =
+            "705000000000800003200000908407000200010030000000209007000180500100000700008500006";
+    // needs an X-wing
+    private static final String X_WING_SUDOKU =
+            "100000569492056108056109240009640801064010000218035604040500016905061402621000005";
+
+    private final DifficultyRater rater = new DifficultyRater();
+
+    @Test
+    public void rateEveryDifficulty() {
+        assertEquals(Difficulty.EASY, rater.rate(SudokuUtils.getSudokuTable()).getDifficulty());
+        assertEquals(Difficulty.MEDIUM, rater.rate(BoardCodec.fromText(MEDIUM_SUDOKU)).getDifficulty());
+        assertEquals(Difficulty.HARD, rater.rate(BoardCodec.fromText(X_WING_SUDOKU)).getDifficulty());
+        assertEquals(Difficulty.EXPERT, rater.rate(TestSudokuHelper.HARD_SUDOKU).getDifficulty());
+    }
+
+    @Test
+    public void harderPuzzlesScoreHigher() {
+        int easy = rater.rate(SudokuUtils.getSudokuTable()).getScore();
+        int expert = rater.rate(TestSudokuHelper.HARD_SUDOKU).getScore();
+        assertTrue(easy > 0);
+        assertTrue(expert > easy);
+        // the only cell left is a naked and a hidden single at the same time
+        assertEquals(1, rater.rate(TestSudokuHelper.ALMOST_FINISHED_SUDOKU).getScore());
+    }
+
+    @Test
+    public void derivedPuzzlesKeepTheirDifficulty() {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        Random random = new Random(7);
+        for (int i = 0; i < 10; i++) {
+            short[][] puzzle = generator.generate(random);
+            Difficulty difficulty = rater.rate(puzzle).getDifficulty();
+            assertEquals(difficulty, rater.rate(generator.derive(puzzle, random)).getDifficulty());
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void invalidTable() {
+        rater.rate(TestSudokuHelper.INVALID_SUDOKU);
+    }
+
+}
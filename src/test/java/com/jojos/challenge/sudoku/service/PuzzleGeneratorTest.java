@@ -0,0 +1,38 @@
+package com.jojos.challenge.sudoku.service;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link PuzzleGenerator}, every puzzle must have exactly one solution.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class PuzzleGeneratorTest {
+
+    private final PuzzleGenerator generator = new PuzzleGenerator();
+    private final Random random = new Random(42);
+
+    @Test
+    public void generatedPuzzlesHaveUniqueSolution() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, countSolutions(generator.generate(random)));
+        }
+    }
+
+    @Test
+    public void derivedPuzzlesHaveUniqueSolution() {
+        short[][] puzzle = generator.generate(random);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, countSolutions(generator.derive(puzzle, random)));
+        }
+    }
+
+    private static int countSolutions(short[][] puzzle) {
+        return new SudokuSearch(2, null).run(DefaultSolver.toCells(puzzle));
+    }
+
+}
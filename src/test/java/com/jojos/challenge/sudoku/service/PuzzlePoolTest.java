@@ -0,0 +1,80 @@
+package com.jojos.challenge.sudoku.service;
+
+import com.jojos.challenge.sudoku.domain.Difficulty;
+import com.jojos.challenge.sudoku.utils.SudokuUtils;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link PuzzlePool}, a difficulty that comes up rarely must still get its puzzles and paused workers
+ * must go on as soon as puzzles are taken.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class PuzzlePoolTest {
+
+    // every 10th puzzle is MEDIUM, every 20th HARD and every 40th EXPERT, the rest EASY
+    private final PuzzlePool puzzlePool = new PuzzlePool(new FixedGenerator(), new CountingRater(), 2, 1);
+
+    @After
+    public void tearDown() {
+        puzzlePool.stop();
+    }
+
+    @Test
+    public void rareDifficultiesGetTheirPuzzles() throws Exception {
+        puzzlePool.start();
+        for (Difficulty difficulty : Difficulty.values()) {
+            assertTrue(difficulty + " puzzles are generated", eventually(() -> puzzlePool.size(difficulty) > 0));
+        }
+        assertEquals(Difficulty.EXPERT, puzzlePool.take(Difficulty.EXPERT).getDifficulty());
+    }
+
+    @Test
+    public void pausedWorkersGoOnWhenPuzzlesAreTaken() throws Exception {
+        puzzlePool.start();
+        assertTrue(eventually(() -> puzzlePool.size(Difficulty.EXPERT) > 0 && puzzlePool.size(Difficulty.EASY) == 2));
+        puzzlePool.take(Difficulty.EASY);
+        puzzlePool.take(Difficulty.EASY);
+        assertTrue(eventually(() -> puzzlePool.size(Difficulty.EASY) == 2));
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static class FixedGenerator extends PuzzleGenerator {
+        @Override
+        public short[][] generate(Random random) {
+            return SudokuUtils.copyOf(TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        }
+    }
+
+    private static class CountingRater extends DifficultyRater {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Rating rate(short[][] board) {
+            int n = count.incrementAndGet();
+            Difficulty difficulty = n % 40 == 0 ? Difficulty.EXPERT : n % 20 == 0 ? Difficulty.HARD
+                    : n % 10 == 0 ? Difficulty.MEDIUM : Difficulty.EASY;
+            return new Rating(difficulty, n);
+        }
+    }
+
+}
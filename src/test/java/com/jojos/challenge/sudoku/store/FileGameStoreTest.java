@@ -0,0 +1,163 @@
+package com.jojos.challenge.sudoku.store;
+
+import com.jojos.challenge.sudoku.control.ApplicationException;
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link FileGameStore}, games must be found again by any store opened on the same file.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class FileGameStoreTest {
+
+    private static final int MAX_SIZE = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String file;
+    private FileGameStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.getRoot().toPath().resolve("games.store").toString();
+        store = new FileGameStore(file, MAX_SIZE);
+        store.open();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    public void gamesAreSharedThroughTheFile() throws Exception {
+        String id = UUID.randomUUID().toString();
+        assertTrue(store.create(id, TestSudokuHelper.VALID_INITIAL_SUDOKU));
+        assertEquals(FileGameStore.HEADER_SIZE + 2 * MAX_SIZE * FileGameStore.SLOT_SIZE, Files.size(folder.getRoot().toPath().resolve("games.store")));
+
+        FileGameStore other = new FileGameStore(file, MAX_SIZE);
+        other.open();
+        try {
+            assertEquals(1, other.size());
+            other.update(id, game -> game.getBoard()[1][3] = 2);
+            short[][] board = store.update(id, GameBoard::getBoard);
+            assertEquals(2, board[1][3]);
+            assertEquals(7, board[0][0]);
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    public void nothingIsWrittenBackIfTheUpdateFails() {
+        String id = UUID.randomUUID().toString();
+        store.create(id, TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        try {
+            store.update(id, game -> {
+                game.getBoard()[1][3] = 2;
+                throw new ApplicationException("failed");
+            });
+        } catch (ApplicationException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertArrayEquals(TestSudokuHelper.VALID_INITIAL_SUDOKU, store.update(id, GameBoard::getBoard));
+    }
+
+    @Test
+    public void derivedStateIsNotKept() {
+        String id = UUID.randomUUID().toString();
+        store.create(id, TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        store.update(id, game -> {
+            game.setDerived(new Object());
+            return game;
+        });
+        assertNull(store.update(id, game -> game.getDerived(Object.class)));
+    }
+
+    @Test
+    public void unknownGames() {
+        assertNull(store.update(UUID.randomUUID().toString(), GameBoard::getBoard));
+        assertNull(store.update("unknown", GameBoard::getBoard));
+    }
+
+    @Test
+    public void fullAndEvicted() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            ids.add(UUID.randomUUID().toString());
+            assertTrue(store.create(ids.get(i), TestSudokuHelper.VALID_INITIAL_SUDOKU));
+        }
+        assertFalse(store.create(UUID.randomUUID().toString(), TestSudokuHelper.VALID_INITIAL_SUDOKU));
+
+        assertEquals(MAX_SIZE, store.evictIdle(System.currentTimeMillis() + 1));
+        assertEquals(0, store.size());
+        for (String id : ids) {
+            assertNull(store.update(id, GameBoard::getBoard));
+        }
+        // removed slots are taken again
+        for (int i = 0; i < MAX_SIZE; i++) {
+            assertTrue(store.create(UUID.randomUUID().toString(), TestSudokuHelper.VALID_INITIAL_SUDOKU));
+        }
+    }
+
+    @Test
+    public void lookupsStayShortAfterChurn() throws Exception {
+        List<String> kept = new ArrayList<>();
+        for (int cycle = 0; cycle < 50; cycle++) {
+            for (int i = 0; i < MAX_SIZE; i++) {
+                assertTrue(store.create(UUID.randomUUID().toString(), TestSudokuHelper.VALID_INITIAL_SUDOKU));
+            }
+            store.evictIdle(System.currentTimeMillis() + 1);
+        }
+        // half of the games stay while the other half keep coming and going
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            kept.add(UUID.randomUUID().toString());
+            assertTrue(store.create(kept.get(i), TestSudokuHelper.VALID_INITIAL_SUDOKU));
+        }
+        for (int cycle = 0; cycle < 50; cycle++) {
+            for (int i = 0; i < MAX_SIZE / 2; i++) {
+                assertTrue(store.create(UUID.randomUUID().toString(), TestSudokuHelper.VALID_INITIAL_SUDOKU));
+            }
+            Thread.sleep(2);
+            long accessedBefore = System.currentTimeMillis();
+            for (String id : kept) {
+                assertNotNull(store.update(id, GameBoard::getBoard));
+            }
+            assertEquals(MAX_SIZE / 2, store.evictIdle(accessedBefore));
+        }
+
+        // with no more than a quarter of the slots removed, a miss stops at a free slot long before it went around
+        int longest = 0;
+        for (int i = 0; i < 1000; i++) {
+            longest = Math.max(longest, store.probeLength(UUID.randomUUID()));
+        }
+        assertTrue("a miss looked at " + longest + " slots", longest < MAX_SIZE);
+        for (String id : kept) {
+            assertArrayEquals(TestSudokuHelper.VALID_INITIAL_SUDOKU, store.update(id, GameBoard::getBoard));
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void onlyClassicBoards() {
+        store.create(UUID.randomUUID().toString(), new short[4][4]);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.jojos.challenge.sudoku.store;
+
+import com.jojos.challenge.sudoku.utils.TestSudokuHelper;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link InMemoryGameStore}, the state derived from a board must be kept along with it.
+ * <p>
+ * Created by karanikasg@gmail.com.
+ */
+public class InMemoryGameStoreTest {
+
+    private final InMemoryGameStore store = new InMemoryGameStore(10);
+
+    @Test
+    public void derivedStateIsKept() {
+        String id = UUID.randomUUID().toString();
+        store.create(id, TestSudokuHelper.VALID_INITIAL_SUDOKU);
+        Object derived = new Object();
+
+        assertTrue(store.update(id, game -> {
+            boolean none = game.getDerived(Object.class) == null;
+            game.setDerived(derived);
+            game.getBoard()[1][3] = 2;
+            return none;
+        }));
+        assertSame(derived, store.update(id, game -> game.getDerived(Object.class)));
+        assertTrue(store.update(id, game -> game.getDerived(String.class) == null));
+        assertEquals(2, (int) store.update(id, game -> game.getBoard()[1][3]));
+    }
+
+}
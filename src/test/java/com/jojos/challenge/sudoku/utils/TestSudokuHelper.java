@@ -72,6 +72,34 @@ public class TestSudokuHelper {
             {1, 2, 3,    6, 5, 7,    8, 9, 4},
             {6, 8, 4,    3, 9, 2,    1, 5, 0}};
 
+    // a hard sudoku board that can't be solved by singles alone
+    public static final short[][] HARD_SUDOKU = {
+            {8, 0, 0,    0, 0, 0,    0, 0, 0},
+            {0, 0, 3,    6, 0, 0,    0, 0, 0},
+            {0, 7, 0,    0, 9, 0,    2, 0, 0},
+
+            {0, 5, 0,    0, 0, 7,    0, 0, 0},
+            {0, 0, 0,    0, 4, 5,    7, 0, 0},
+            {0, 0, 0,    1, 0, 0,    0, 3, 0},
+
+            {0, 0, 1,    0, 0, 0,    0, 6, 8},
+            {0, 0, 8,    5, 0, 0,    0, 1, 0},
+            {0, 9, 0,    0, 0, 0,    4, 0, 0}};
+
+    // a sudoku board without duplicates that can't be solved, there is no number left for the last cell of the first row
+    public static final short[][] UNSOLVABLE_SUDOKU = {
+            {1, 2, 3,    4, 5, 6,    7, 8, 0},
+            {0, 0, 0,    0, 0, 0,    0, 0, 9},
+            {0, 0, 0,    0, 0, 0,    0, 0, 0},
+
+            {0, 0, 0,    0, 0, 0,    0, 0, 0},
+            {0, 0, 0,    0, 0, 0,    0, 0, 0},
+            {0, 0, 0,    0, 0, 0,    0, 0, 0},
+
+            {0, 0, 0,    0, 0, 0,    0, 0, 0},
+            {0, 0, 0,    0, 0, 0,    0, 0, 0},
+            {0, 0, 0,    0, 0, 0,    0, 0, 0}};
+
     public static String asJsonString(final Object obj) {
         try {
             ObjectMapper mapper = new ObjectMapper();